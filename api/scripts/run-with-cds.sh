@@ -0,0 +1,17 @@
+#!/bin/sh
+# Starts the api with the class data sharing archive built by: ./mvnw -Pcds package
+# The archive only matches the exact JDK and classpath it was dumped with, so the jar
+# is launched from target/cds with the same relative path as during the training run.
+# JVM options go in JAVA_OPTS, arguments are passed to the application.
+set -e
+
+CDS_DIR="$(cd "$(dirname "$0")/../target/cds" && pwd)"
+cd "$CDS_DIR"
+
+# shellcheck disable=SC2086
+exec java \
+  -XX:SharedArchiveFile=app.jsa \
+  -Dspring.profiles.active="${SPRING_PROFILES_ACTIVE:-lean}" \
+  $JAVA_OPTS \
+  -jar springboilerplate-cds.jar \
+  "$@"
@@ -0,0 +1,20 @@
+package com.nimbleways.springclean.training;
+
+import com.nimbleways.springclean.Application;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CdsTrainingRunIntegrationTests {
+
+    @Test
+    void trainingRunShouldProcessAnOrderThenShutDown() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("cds-training")
+                .run("--spring.datasource.url=jdbc:h2:mem:cds-training");
+
+        assertThat(context.isActive()).isFalse();
+    }
+}
@@ -0,0 +1,74 @@
+package com.nimbleways.springclean.training;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Training run for the class data sharing archive (maven profile cds)
+ * Once the application is ready, sends real HTTP requests through OrderController so every class
+ * of the request path gets loaded, then shuts the application down to let the JVM dump the archive.
+ */
+@Lazy(false)
+@Component
+@Profile("cds-training")
+@RequiredArgsConstructor
+public class CdsTrainingRun {
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void train(ApplicationReadyEvent event) throws IOException, InterruptedException {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        Long orderId = createOrder();
+        HttpClient httpClient = HttpClient.newHttpClient();
+        for (String action : List.of("quote", "processOrder")) {
+            URI uri = URI.create("http://localhost:" + port + contextPath + "/orders/" + orderId + "/" + action);
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Training request " + uri + " failed with status " + response.statusCode());
+            }
+        }
+        SpringApplication.exit(context);
+    }
+
+    private Long createOrder() {
+        LocalDate today = LocalDate.now();
+        List<Product> products = productRepository.saveAll(List.of(
+                Product.builder().name("Training Cable").type(ProductType.NORMAL).available(30).leadTime(15).build(),
+                Product.builder().name("Training Dongle").type(ProductType.NORMAL).available(0).leadTime(10).build(),
+                Product.builder().name("Training Milk").type(ProductType.EXPIRABLE).available(6).leadTime(90)
+                        .expiryDate(today.minusDays(2)).build(),
+                Product.builder().name("Training Grapes").type(ProductType.SEASONAL).available(30).leadTime(15)
+                        .seasonStartDate(today.plusDays(180)).seasonEndDate(today.plusDays(240)).build()));
+        return orderRepository.save(new Order(null, Set.copyOf(products))).getId();
+    }
+}
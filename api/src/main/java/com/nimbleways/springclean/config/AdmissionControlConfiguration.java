@@ -0,0 +1,25 @@
+package com.nimbleways.springclean.config;
+
+import com.nimbleways.springclean.services.admission.AdmissionControlInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts admission control in front of the order endpoints
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AdmissionControlConfiguration implements WebMvcConfigurer {
+
+    private final AdmissionControlProperties properties;
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.enabled()) {
+            registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/orders/**");
+        }
+    }
+}
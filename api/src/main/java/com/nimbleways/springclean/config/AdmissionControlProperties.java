@@ -0,0 +1,35 @@
+package com.nimbleways.springclean.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Admission control in front of the order endpoints
+ * @param enabled Whether requests go through admission control at all
+ * @param clientPermitsPerSecond Sustained request rate allowed per client
+ * @param clientBurst Requests a client may send at once after being idle
+ * @param initialConcurrency Concurrent requests admitted before any latency was observed
+ * @param minConcurrency Floor of the adaptive concurrency limit
+ * @param maxConcurrency Ceiling of the adaptive concurrency limit
+ * @param latencyTarget Latency above which the concurrency limit shrinks
+ * @param backoffRatio Factor applied to the concurrency limit on each response slower than the target
+ * @param trustedGateways Remote addresses whose X-Client-Id header names the client, e.g. an API gateway;
+ *                        the header of any other caller is ignored, as it could change on every request
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "orders.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") double clientPermitsPerSecond,
+        @DefaultValue("40") int clientBurst,
+        @DefaultValue("20") int initialConcurrency,
+        @DefaultValue("2") int minConcurrency,
+        @DefaultValue("100") int maxConcurrency,
+        @DefaultValue("250ms") Duration latencyTarget,
+        @DefaultValue("0.9") double backoffRatio,
+        Set<String> trustedGateways) {
+}
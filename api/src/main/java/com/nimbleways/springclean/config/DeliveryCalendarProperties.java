@@ -0,0 +1,25 @@
+package com.nimbleways.springclean.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Calendar lead times are counted in
+ * Without non-working days nor holidays a lead time is a number of calendar days.
+ * @param nonWorkingDays Days of the week nothing ships, e.g. SATURDAY,SUNDAY
+ * @param holidays Dates nothing ships, ISO formatted
+ * @param horizonDays Days after startup covered by the precomputed table, later dates are walked day by day
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "delivery.calendar")
+public record DeliveryCalendarProperties(
+        Set<DayOfWeek> nonWorkingDays,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Set<LocalDate> holidays,
+        @DefaultValue("3660") int horizonDays) {
+}
@@ -0,0 +1,22 @@
+package com.nimbleways.springclean.config;
+
+import com.nimbleways.springclean.enums.ProductType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+
+import java.util.Map;
+
+/**
+ * Low-stock alert thresholds, the most specific one wins
+ * An alert is sent when a decrement takes available from above the threshold to at or below it.
+ * @param defaultThreshold Threshold of every product without a more specific one, none when unset
+ * @param byType Threshold per product type
+ * @param byProduct Threshold per product id, names are not unique, e.g. products.low-stock.by-product.42=5
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "products.low-stock")
+public record LowStockThresholdProperties(
+        Integer defaultThreshold,
+        Map<ProductType, Integer> byType,
+        Map<Long, Integer> byProduct) {
+}
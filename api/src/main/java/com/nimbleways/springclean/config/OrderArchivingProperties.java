@@ -0,0 +1,24 @@
+package com.nimbleways.springclean.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Archiving of processed orders
+ * The run interval is read by the scheduler as orders.archiving.interval.
+ * @param enabled Whether scheduled runs archive anything
+ * @param age Processed orders older than this leave the live tables
+ * @param chunkSize Orders moved per transaction
+ * @param maxChunksPerRun Bound of a single run, the next run picks up the rest
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "orders.archiving")
+public record OrderArchivingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("90d") Duration age,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("100") int maxChunksPerRun) {
+}
@@ -0,0 +1,21 @@
+package com.nimbleways.springclean.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retry policy applied when concurrent nodes update the same products
+ * @param maxAttempts Attempts including the first one
+ * @param initialBackoff Backoff ceiling after the first conflict, doubled on each retry
+ * @param maxBackoff Upper bound of the backoff ceiling
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "orders.processing.retry")
+public record OrderProcessingRetryProperties(
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("10ms") Duration initialBackoff,
+        @DefaultValue("200ms") Duration maxBackoff) {
+}
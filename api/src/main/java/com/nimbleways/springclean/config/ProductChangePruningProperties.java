@@ -0,0 +1,24 @@
+package com.nimbleways.springclean.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Pruning of the product change outbox
+ * The run interval is read by the scheduler as products.changes.pruning.interval.
+ * @param enabled Whether scheduled runs delete anything
+ * @param retention Changes older than this are deleted, a client resuming from an older cursor misses them
+ * @param chunkSize Ids covered per delete transaction
+ * @param maxChunksPerRun Bound of a single run, the next run picks up the rest
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "products.changes.pruning")
+public record ProductChangePruningProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("100") int maxChunksPerRun) {
+}
@@ -0,0 +1,22 @@
+package com.nimbleways.springclean.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Relay streaming the product change outbox to subscribers
+ * The poll interval is read by the scheduler as products.changes.relay.poll-interval.
+ * @param batchSize Changes read per query and sent per event
+ * @param emitterTimeout Lifetime of a stream before the client has to resume it
+ * @param gapTimeout How long a missing cursor is waited for before it is treated as a rolled back transaction
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "products.changes.relay")
+public record ProductChangeRelayProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("30m") Duration emitterTimeout,
+        @DefaultValue("5s") Duration gapTimeout) {
+}
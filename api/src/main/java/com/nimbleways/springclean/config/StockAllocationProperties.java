@@ -0,0 +1,16 @@
+package com.nimbleways.springclean.config;
+
+import com.nimbleways.springclean.services.allocation.AllocationStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Allocation of order items across stock locations
+ * @param strategy How locations holding stock are ranked
+ */
+@ConstructorBinding
+@ConfigurationProperties(prefix = "stock.allocation")
+public record StockAllocationProperties(
+        @DefaultValue("PRIORITY") AllocationStrategy strategy) {
+}
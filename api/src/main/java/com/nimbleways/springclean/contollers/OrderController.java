@@ -1,10 +1,11 @@
 package com.nimbleways.springclean.contollers;
 
 import com.nimbleways.springclean.dto.product.ProcessOrderResponse;
-import com.nimbleways.springclean.entities.Order;
-import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.dto.product.QuoteOrderResponse;
 import com.nimbleways.springclean.services.implementations.OrderProcessingService;
+import com.nimbleways.springclean.services.implementations.OrderQuoteService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,29 +16,27 @@ import org.springframework.web.bind.annotation.RestController;
 /**
  * Order Controller
  * Follows Single Responsibility Principle - handles only HTTP concerns
+ * Never lazy: the lean profile keeps the order processing path warm for the first request
  */
+@Lazy(false)
 @RestController
 @RequestMapping("/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderProcessingService orderProcessingService;
-    private final OrderRepository orderRepository;
+    private final OrderQuoteService orderQuoteService;
 
     @PostMapping("{orderId}/processOrder")
     @ResponseStatus(HttpStatus.OK)
     public ProcessOrderResponse processOrder(@PathVariable Long orderId) {
-        Order order = findOrderById(orderId);
-        processAllOrderItems(order);
-        return new ProcessOrderResponse(order.getId());
+        orderProcessingService.processOrder(orderId);
+        return new ProcessOrderResponse(orderId);
     }
 
-    private Order findOrderById(Long orderId) {
-        return orderRepository.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
-    }
-
-    private void processAllOrderItems(Order order) {
-        order.getItems().forEach(orderProcessingService::processOrderItem);
+    @PostMapping("{orderId}/quote")
+    @ResponseStatus(HttpStatus.OK)
+    public QuoteOrderResponse quoteOrder(@PathVariable Long orderId) {
+        return orderQuoteService.quoteOrder(orderId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,59 @@
+package com.nimbleways.springclean.contollers;
+
+import com.nimbleways.springclean.dto.product.ProductSearchResponse;
+import com.nimbleways.springclean.services.changes.ProductChangeRelay;
+import com.nimbleways.springclean.services.search.ProductNameIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Product Controller
+ * Follows Single Responsibility Principle - handles only HTTP concerns
+ */
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+public class ProductController {
+
+    private static final int SEARCH_RETRY_AFTER_SECONDS = 1;
+
+    private final ProductChangeRelay productChangeRelay;
+    private final ProductNameIndex productNameIndex;
+
+    /**
+     * Stream product stock and lead time changes
+     * A reconnecting EventSource sends Last-Event-ID, which takes precedence over the since cursor.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestParam(required = false) Long since,
+                              @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return productChangeRelay.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Products whose name starts with the prefix, ordered by name, served from the in-memory name index
+     * Answers 503 with Retry-After while the index is still loading after startup.
+     * @param limit Maximum number of results, at most ProductNameIndex.MAX_RESULTS
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchResponse>> search(@RequestParam String prefix,
+                                                              @RequestParam(defaultValue = "20") int limit) {
+        if (!productNameIndex.isLoaded()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(SEARCH_RETRY_AFTER_SECONDS))
+                    .build();
+        }
+        return ResponseEntity.ok(productNameIndex.search(prefix, limit));
+    }
+}
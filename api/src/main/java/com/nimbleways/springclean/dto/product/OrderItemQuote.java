@@ -0,0 +1,9 @@
+package com.nimbleways.springclean.dto.product;
+
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+
+import java.time.LocalDate;
+
+public record OrderItemQuote(Long productId, String productName, OrderItemOutcome outcome, Integer leadTime,
+                             LocalDate estimatedDelivery) {
+}
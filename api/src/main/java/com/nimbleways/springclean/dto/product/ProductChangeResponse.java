@@ -0,0 +1,14 @@
+package com.nimbleways.springclean.dto.product;
+
+import com.nimbleways.springclean.entities.ProductChange;
+
+import java.time.Instant;
+
+public record ProductChangeResponse(Long cursor, Long productId, Long locationId, Integer available, Integer leadTime, Instant changedAt) {
+
+    public static ProductChangeResponse from(ProductChange change) {
+        return new ProductChangeResponse(change.getId(), change.getProductId(), change.getLocationId(),
+                change.getAvailable(),
+                change.getLeadTime(), change.getChangedAt());
+    }
+}
@@ -0,0 +1,4 @@
+package com.nimbleways.springclean.dto.product;
+
+public record ProductSearchResponse(Long id, String name) {
+}
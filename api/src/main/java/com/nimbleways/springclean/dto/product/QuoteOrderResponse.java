@@ -0,0 +1,6 @@
+package com.nimbleways.springclean.dto.product;
+
+import java.util.List;
+
+public record QuoteOrderResponse(Long id, List<OrderItemQuote> items) {
+}
@@ -0,0 +1,35 @@
+package com.nimbleways.springclean.entities;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Set;
+
+import javax.persistence.*;
+
+/**
+ * Processed order moved out of the live orders and order_items tables
+ * Items are kept as product ids: products stay live and may be deleted long after the order was archived.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "archived_orders")
+public class ArchivedOrder {
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "processed_at", nullable = false)
+    private Instant processedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "archived_order_items", joinColumns = @JoinColumn(name = "order_id"))
+    @Column(name = "product_id")
+    private Set<Long> productIds;
+}
@@ -0,0 +1,26 @@
+package com.nimbleways.springclean.entities;
+
+import lombok.*;
+
+import java.time.Instant;
+
+import javax.persistence.*;
+
+/**
+ * When an order was last processed, kept next to orders since that table must not change
+ * Drives archiving: only processed orders older than the configured age leave the live tables.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "processed_orders", indexes = @Index(name = "idx_processed_orders_processed_at", columnList = "processed_at"))
+public class ProcessedOrder {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "processed_at", nullable = false)
+    private Instant processedAt;
+}
@@ -20,11 +20,11 @@ public class Product {
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "lead_time")
-    private Integer leadTime;
+    @Column(name = "lead_time", nullable = false)
+    private int leadTime;
 
-    @Column(name = "available")
-    private Integer available;
+    @Column(name = "available", nullable = false)
+    private int available;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "type")
@@ -41,4 +41,8 @@ public class Product {
 
     @Column(name = "season_end_date")
     private LocalDate seasonEndDate;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
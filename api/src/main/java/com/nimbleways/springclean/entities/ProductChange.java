@@ -0,0 +1,39 @@
+package com.nimbleways.springclean.entities;
+
+import lombok.*;
+
+import java.time.Instant;
+
+import javax.persistence.*;
+
+/**
+ * Outbox row written in the transaction that changed a product's stock or lead time
+ * The identity doubles as the cursor of the change feed. Rows of a stock location carry its id and no lead time.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "product_changes")
+public class ProductChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "location_id")
+    private Long locationId;
+
+    @Column(name = "available")
+    private Integer available;
+
+    @Column(name = "lead_time")
+    private Integer leadTime;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,39 @@
+package com.nimbleways.springclean.entities;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * Stock of a product at one location
+ * Products without any row only use Product.available, as before locations existed.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "product_stocks",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_stocks_product_location",
+                columnNames = {"product_id", "location_id"}))
+public class ProductStock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "location_id", nullable = false)
+    private StockLocation location;
+
+    @Column(name = "available", nullable = false)
+    private int available;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
@@ -0,0 +1,32 @@
+package com.nimbleways.springclean.entities;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * Warehouse or store holding product stock
+ * Ranked by priority or lead time when an order item is allocated, see stock.allocation.strategy.
+ */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Table(name = "stock_locations")
+public class StockLocation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "code", nullable = false, unique = true)
+    private String code;
+
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Column(name = "lead_time", nullable = false)
+    private int leadTime;
+}
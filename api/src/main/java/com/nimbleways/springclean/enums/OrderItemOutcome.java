@@ -0,0 +1,15 @@
+package com.nimbleways.springclean.enums;
+
+/**
+ * Outcome of processing a single order item
+ * Shared by the real processing path and the side-effect-free quote
+ */
+public enum OrderItemOutcome {
+    ALLOCATE,
+    DECREMENT,
+    DELAY,
+    OUT_OF_STOCK,
+    SEASON_NOT_STARTED,
+    EXPIRE,
+    UNAVAILABLE
+}
@@ -0,0 +1,8 @@
+package com.nimbleways.springclean.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.nimbleways.springclean.entities.ArchivedOrder;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+}
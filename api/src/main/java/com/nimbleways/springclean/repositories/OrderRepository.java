@@ -1,11 +1,17 @@
 package com.nimbleways.springclean.repositories;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.nimbleways.springclean.entities.Order;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface OrderRepository extends JpaRepository<Order, UUID> {
     Optional<Order> findById(Long orderId);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findByIdIn(Collection<Long> orderIds);
 }
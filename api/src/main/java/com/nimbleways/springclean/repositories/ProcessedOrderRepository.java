@@ -0,0 +1,12 @@
+package com.nimbleways.springclean.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.nimbleways.springclean.entities.ProcessedOrder;
+import java.time.Instant;
+import java.util.List;
+
+public interface ProcessedOrderRepository extends JpaRepository<ProcessedOrder, Long> {
+    List<ProcessedOrder> findByProcessedAtBeforeOrderByProcessedAtAsc(Instant cutoff, Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.nimbleways.springclean.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nimbleways.springclean.entities.ProductChange;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductChangeRepository extends JpaRepository<ProductChange, Long> {
+    List<ProductChange> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+
+    Optional<ProductChange> findFirstByOrderByIdDesc();
+
+    Optional<ProductChange> findFirstByOrderByIdAsc();
+
+    @Modifying
+    @Query("delete from ProductChange c where c.id <= :maxId and c.changedAt < :cutoff")
+    int deleteByIdLessThanEqualAndChangedAtBefore(@Param("maxId") long maxId, @Param("cutoff") Instant cutoff);
+}
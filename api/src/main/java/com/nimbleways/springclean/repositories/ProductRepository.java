@@ -1,13 +1,25 @@
 package com.nimbleways.springclean.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import com.nimbleways.springclean.dto.product.ProductSearchResponse;
 import com.nimbleways.springclean.entities.Product;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ProductRepository extends JpaRepository<Product, UUID> {
     Optional<Product> findById(Long productId);
 
+    /**
+     * Scans products.name, which has no index
+     * @deprecated resolve the id with {@link com.nimbleways.springclean.services.search.ProductNameIndex#findFirstIdByName}
+     */
+    @Deprecated
     Optional<Product> findFirstByName(String name);
+
+    @Query("select new com.nimbleways.springclean.dto.product.ProductSearchResponse(p.id, p.name) "
+            + "from Product p where p.name is not null")
+    List<ProductSearchResponse> findAllNames();
 }
@@ -0,0 +1,14 @@
+package com.nimbleways.springclean.repositories;
+
+import com.nimbleways.springclean.entities.ProductStock;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
+
+    @EntityGraph(attributePaths = "location")
+    List<ProductStock> findByProductIdIn(Collection<Long> productIds);
+}
@@ -0,0 +1,7 @@
+package com.nimbleways.springclean.repositories;
+
+import com.nimbleways.springclean.entities.StockLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface StockLocationRepository extends JpaRepository<StockLocation, Long> {
+}
@@ -0,0 +1,68 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.config.AdmissionControlProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit driven by observed latency (additive increase, multiplicative decrease)
+ * A response slower than the target shrinks the limit by the backoff ratio, a faster one grows it
+ * by 1/limit, i.e. by one per limit's worth of fast responses, and only while the limit is actually used.
+ * Requests above the limit are rejected right away instead of queueing on the connection pool.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(AdmissionControlProperties properties) {
+        this.minLimit = properties.minConcurrency();
+        this.maxLimit = properties.maxConcurrency();
+        this.latencyTargetNanos = properties.latencyTarget().toNanos();
+        this.backoffRatio = properties.backoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.initialConcurrency()));
+    }
+
+    /**
+     * @return true when the request is admitted, {@link #release(long)} must then be called once it completes
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param latencyNanos Latency of the admitted request
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,106 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control of the order endpoints
+ * A request first takes a permit from its client's token bucket, then a slot of the adaptive concurrency limit.
+ * Either rejection answers 429 with Retry-After before any database work is done.
+ * Clients are the authenticated principal when there is one, else the remote address. The X-Client-Id header
+ * only counts when sent by a trusted gateway: from anyone else, a new value per request would bypass the limit.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final String ADMITTED_AT = AdmissionControlInterceptor.class.getName() + ".admittedAt";
+
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Set<String> trustedGateways;
+    private final Counter rateLimited;
+    private final Counter concurrencyLimited;
+
+    public AdmissionControlInterceptor(ClientRateLimiter clientRateLimiter,
+                                       AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                       AdmissionControlProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.clientRateLimiter = clientRateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.trustedGateways = properties.trustedGateways() != null ? Set.copyOf(properties.trustedGateways()) : Set.of();
+        this.rateLimited = Counter.builder("orders.admission.rejected")
+                .description("Order requests rejected by admission control")
+                .tag("reason", "rate")
+                .register(meterRegistry);
+        this.concurrencyLimited = Counter.builder("orders.admission.rejected")
+                .description("Order requests rejected by admission control")
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+        Gauge.builder("orders.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit of the order endpoints")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long retryAfterNanos = clientRateLimiter.tryAcquire(clientOf(request));
+        if (retryAfterNanos > 0) {
+            rateLimited.increment();
+            reject(response, retryAfterNanos);
+            return false;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            concurrencyLimited.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1));
+            return false;
+        }
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception exception) {
+        Object admittedAt = request.getAttribute(ADMITTED_AT);
+        if (admittedAt instanceof Long start) {
+            request.removeAttribute(ADMITTED_AT);
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String address = request.getRemoteAddr();
+        if (trustedGateways.contains(address)) {
+            String clientId = request.getHeader(CLIENT_ID_HEADER);
+            if (clientId != null && !clientId.isBlank()) {
+                return "client:" + clientId;
+            }
+        }
+        return "address:" + address;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + second - 1) / second);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+}
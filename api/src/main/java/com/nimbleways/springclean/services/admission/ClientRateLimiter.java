@@ -0,0 +1,45 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.config.AdmissionControlProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One token bucket per client
+ * Full buckets are evicted periodically, so the map only holds clients that sent requests recently.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientRateLimiter {
+
+    private final AdmissionControlProperties properties;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param client Client key
+     * @return 0 when the request is admitted, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(client);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(client, key ->
+                    new TokenBucket(properties.clientPermitsPerSecond(), properties.clientBurst(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.admission.eviction-interval:PT1M}")
+    public void evictIdleClients() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nimbleways.springclean.services.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket
+ * Implemented as a generic cell rate algorithm: the whole state is the theoretical arrival time of the
+ * next request, so acquiring a permit is one compare-and-set and allocates nothing.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * @param permitsPerSecond Sustained rate
+     * @param burst Permits available at once on a full bucket
+     * @param nowNanos Current {@link System#nanoTime()}, the bucket starts full
+     */
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Token bucket needs a positive rate and burst");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.capacityNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Take a permit
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return 0 when a permit was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long theoreticalArrival = theoreticalArrivalNanos.get();
+            long next = Math.max(theoreticalArrival, nowNanos) + emissionIntervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return true when the bucket is full again, it can then be dropped and recreated without changing behaviour
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalNanos.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nimbleways.springclean.services.allocation;
+
+import com.nimbleways.springclean.entities.StockLocation;
+
+import java.util.Comparator;
+
+/**
+ * Order in which locations are tried when allocating an order item, the first one with stock serves it
+ */
+public enum AllocationStrategy {
+    /**
+     * Lowest priority value first, then shortest lead time
+     */
+    PRIORITY(Comparator.comparingInt(StockLocation::getPriority)
+            .thenComparingInt(StockLocation::getLeadTime)),
+    /**
+     * Shortest lead time first, then lowest priority value
+     */
+    LEAD_TIME(Comparator.comparingInt(StockLocation::getLeadTime)
+            .thenComparingInt(StockLocation::getPriority));
+
+    private final Comparator<StockLocation> ranking;
+
+    AllocationStrategy(Comparator<StockLocation> ranking) {
+        this.ranking = ranking.thenComparing(StockLocation::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    public Comparator<StockLocation> ranking() {
+        return ranking;
+    }
+}
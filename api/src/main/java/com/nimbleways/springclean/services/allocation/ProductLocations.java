@@ -0,0 +1,196 @@
+package com.nimbleways.springclean.services.allocation;
+
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Per-product index of stock locations, best location first
+ * Built in memory from one batched load. Locations without stock are dropped up front and only the rest is ranked;
+ * each product then keeps a cursor on its first location with stock left, so serving an item never queries.
+ * An instance can be indexed again for the next order: its arrays are kept, so a steady state indexes and serves
+ * orders without allocating per item. It is not thread-safe.
+ */
+public final class ProductLocations {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Comparator<ProductStock> stockRanking;
+    private final List<ProductStock> allocated = new ArrayList<>();
+
+    // stock rows holding stock, grouped by product, best location first within a group
+    private ProductStock[] ranked = new ProductStock[INITIAL_CAPACITY];
+    private boolean[] decremented = new boolean[INITIAL_CAPACITY];
+    private int stockCount;
+
+    // open addressing from product id to product slot, a slot is stored plus one so zero marks a free entry
+    private long[] tableKeys = new long[INITIAL_CAPACITY * 2];
+    private int[] tableSlots = new int[INITIAL_CAPACITY * 2];
+
+    // per product slot: cursor on its first ranked row with stock left, end of its group
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] end = new int[INITIAL_CAPACITY];
+    private int productCount;
+
+    /**
+     * @param ranking Order in which a product's locations are tried
+     */
+    public ProductLocations(Comparator<StockLocation> ranking) {
+        this.stockRanking = Comparator.comparing(ProductStock::getLocation, ranking);
+    }
+
+    /**
+     * @param stocks Stock rows of any number of products, their location loaded
+     * @param ranking Order in which a product's locations are tried
+     */
+    public static ProductLocations of(List<ProductStock> stocks, Comparator<StockLocation> ranking) {
+        ProductLocations locations = new ProductLocations(ranking);
+        locations.index(stocks);
+        return locations;
+    }
+
+    /**
+     * Replace the index with the given stock rows, forgetting every allocation made so far
+     * Rows are grouped per product by counting, then each product's few locations are ranked in place.
+     * @param stocks Stock rows of any number of products, their location loaded
+     */
+    public void index(List<ProductStock> stocks) {
+        reset(stocks.size());
+        for (int i = 0; i < stocks.size(); i++) {
+            ProductStock stock = stocks.get(i);
+            if (stock.getAvailable() > 0 && stock.getProductId() != null) {
+                end[slotOf(stock.getProductId(), true)]++;
+            }
+        }
+        int start = 0;
+        for (int slot = 0; slot < productCount; slot++) {
+            int count = end[slot];
+            next[slot] = start;
+            end[slot] = start;
+            start += count;
+        }
+        for (int i = 0; i < stocks.size(); i++) {
+            ProductStock stock = stocks.get(i);
+            if (stock.getAvailable() > 0 && stock.getProductId() != null) {
+                ranked[end[slotOf(stock.getProductId(), false)]++] = stock;
+            }
+        }
+        stockCount = start;
+        for (int slot = 0; slot < productCount; slot++) {
+            Arrays.sort(ranked, next[slot], end[slot], stockRanking);
+        }
+    }
+
+    /**
+     * Best location that can serve one unit of the product, nothing is reserved
+     * @return Stock row to serve from, null when no location holds stock
+     */
+    public ProductStock peek(Long productId) {
+        int index = firstWithStock(productId);
+        return index >= 0 ? ranked[index] : null;
+    }
+
+    /**
+     * Take one unit of the product from its best location
+     * @return Stock row that was decremented, null when no location holds stock
+     */
+    public ProductStock allocate(Long productId) {
+        int index = firstWithStock(productId);
+        if (index < 0) {
+            return null;
+        }
+        ProductStock stock = ranked[index];
+        stock.setAvailable(stock.getAvailable() - 1);
+        if (!decremented[index]) {
+            decremented[index] = true;
+            allocated.add(stock);
+        }
+        return stock;
+    }
+
+    /**
+     * @return Units of the product left across its locations
+     */
+    public long remaining(Long productId) {
+        int slot = productId != null ? slotOf(productId, false) : -1;
+        if (slot < 0) {
+            return 0;
+        }
+        long remaining = 0;
+        for (int i = next[slot]; i < end[slot]; i++) {
+            remaining += Math.max(ranked[i].getAvailable(), 0);
+        }
+        return remaining;
+    }
+
+    /**
+     * @return Stock rows decremented so far, each once, as a view that the next {@link #index} clears
+     */
+    public List<ProductStock> allocated() {
+        return Collections.unmodifiableList(allocated);
+    }
+
+    private int firstWithStock(Long productId) {
+        int slot = productId != null ? slotOf(productId, false) : -1;
+        if (slot < 0) {
+            return -1;
+        }
+        while (next[slot] < end[slot] && ranked[next[slot]].getAvailable() <= 0) {
+            next[slot]++;
+        }
+        return next[slot] < end[slot] ? next[slot] : -1;
+    }
+
+    /**
+     * @param create Whether to give an unknown product the next free slot
+     * @return Slot of the product, -1 when unknown and not created
+     */
+    private int slotOf(long productId, boolean create) {
+        int mask = tableKeys.length - 1;
+        int entry = Long.hashCode(productId * 0x9E3779B97F4A7C15L) & mask;
+        while (tableSlots[entry] != 0) {
+            if (tableKeys[entry] == productId) {
+                return tableSlots[entry] - 1;
+            }
+            entry = (entry + 1) & mask;
+        }
+        if (!create) {
+            return -1;
+        }
+        int slot = productCount++;
+        tableKeys[entry] = productId;
+        tableSlots[entry] = slot + 1;
+        end[slot] = 0;
+        return slot;
+    }
+
+    /**
+     * Clear the previous order and make room for up to the given number of rows, hence of products
+     */
+    private void reset(int rows) {
+        Arrays.fill(ranked, 0, stockCount, null);
+        Arrays.fill(decremented, 0, stockCount, false);
+        allocated.clear();
+        stockCount = 0;
+        productCount = 0;
+        if (ranked.length < rows) {
+            int capacity = Math.max(rows, ranked.length * 2);
+            ranked = new ProductStock[capacity];
+            decremented = new boolean[capacity];
+            next = new int[capacity];
+            end = new int[capacity];
+        }
+        int tableCapacity = Integer.highestOneBit(Math.max(rows, 1) * 2 - 1) << 1;
+        if (tableKeys.length < tableCapacity) {
+            tableKeys = new long[tableCapacity];
+            tableSlots = new int[tableCapacity];
+        } else {
+            Arrays.fill(tableSlots, 0);
+        }
+    }
+}
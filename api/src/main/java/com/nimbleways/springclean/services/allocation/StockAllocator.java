@@ -0,0 +1,85 @@
+package com.nimbleways.springclean.services.allocation;
+
+import com.nimbleways.springclean.config.StockAllocationProperties;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.services.stock.LowStockMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Serves order items from per-location stock
+ * One query loads the locations of every product of an order, items are then allocated from memory.
+ * Low-stock thresholds apply to a product's whole stock: what its locations hold plus Product.available.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAllocator {
+
+    private final ProductStockRepository productStockRepository;
+    private final StockAllocationProperties properties;
+    private final LowStockMonitor lowStockMonitor;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(this::newScratch);
+
+    /**
+     * Index the stock locations of the given products
+     * The index belongs to the calling thread and is reused: it stays valid until that thread's next locate or allocate.
+     * @param products Products of one order
+     */
+    public ProductLocations locate(Collection<Product> products) {
+        Scratch scratch = this.scratch.get();
+        List<Long> productIds = scratch.productIds;
+        productIds.clear();
+        for (Product product : products) {
+            if (product.getId() != null) {
+                productIds.add(product.getId());
+            }
+        }
+        List<ProductStock> stocks = productIds.isEmpty() ? List.of() : productStockRepository.findByProductIdIn(productIds);
+        scratch.locations.index(stocks);
+        return scratch.locations;
+    }
+
+    /**
+     * Serve one unit of every eligible product from its best location, then save the decremented rows in one flush
+     * Low-stock crossings of the served products are checked as they are served and sent once the transaction commits.
+     * Unserved products are handed over as they are met and the index is the thread's, so nothing is allocated per item.
+     * @param products Products of one order
+     * @param eligible Whether a product may be served from stock at all, e.g. not expired
+     * @param unallocated Receives the products no location could serve, left to the product-level processing
+     */
+    public void allocate(Collection<Product> products, Predicate<Product> eligible, Consumer<Product> unallocated) {
+        ProductLocations locations = locate(products);
+        for (Product product : products) {
+            if (!eligible.test(product) || locations.allocate(product.getId()) == null) {
+                unallocated.accept(product);
+            } else {
+                int available = totalAvailable(locations, product);
+                lowStockMonitor.checkDecrement(product, available + 1, available);
+            }
+        }
+        List<ProductStock> allocated = locations.allocated();
+        if (!allocated.isEmpty()) {
+            productStockRepository.saveAllAndFlush(allocated);
+        }
+    }
+
+    private static int totalAvailable(ProductLocations locations, Product product) {
+        long available = locations.remaining(product.getId()) + Math.max(product.getAvailable(), 0);
+        return (int) Math.min(available, Integer.MAX_VALUE - 1);
+    }
+
+    private Scratch newScratch() {
+        return new Scratch(new ArrayList<>(), new ProductLocations(properties.strategy().ranking()));
+    }
+
+    private record Scratch(List<Long> productIds, ProductLocations locations) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.nimbleways.springclean.services.archiving;
+
+import com.nimbleways.springclean.config.OrderArchivingProperties;
+import com.nimbleways.springclean.entities.ArchivedOrder;
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.ProcessedOrder;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.repositories.ArchivedOrderRepository;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProcessedOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background job moving processed orders older than the configured age into the archive tables
+ * Works in chunks, one transaction each, oldest first, so live tables only hold the working set
+ * and a run never holds locks on more than a chunk of orders.
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class OrderArchiver {
+
+    private final OrderRepository orderRepository;
+    private final ProcessedOrderRepository processedOrderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderArchivingProperties properties;
+
+    @Scheduled(fixedDelayString = "${orders.archiving.interval:PT1H}")
+    public void archive() {
+        if (properties.enabled()) {
+            archiveProcessedBefore(Instant.now().minus(properties.age()));
+        }
+    }
+
+    /**
+     * Archive processed orders chunk by chunk, up to maxChunksPerRun chunks
+     * @param cutoff Orders processed before this instant are archived
+     * @return Number of orders archived
+     */
+    public int archiveProcessedBefore(Instant cutoff) {
+        int archived = 0;
+        for (int chunk = 0; chunk < properties.maxChunksPerRun(); chunk++) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += moved;
+            if (moved < properties.chunkSize()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private int archiveChunk(Instant cutoff) {
+        List<ProcessedOrder> processedOrders = processedOrderRepository.findByProcessedAtBeforeOrderByProcessedAtAsc(
+                cutoff, PageRequest.ofSize(properties.chunkSize()));
+        if (processedOrders.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Order> orders = orderRepository.findByIdIn(processedOrders.stream()
+                        .map(ProcessedOrder::getOrderId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        Instant archivedAt = Instant.now();
+        List<ArchivedOrder> archivedOrders = new ArrayList<>(orders.size());
+        for (ProcessedOrder processedOrder : processedOrders) {
+            Order order = orders.get(processedOrder.getOrderId());
+            if (order != null) {
+                archivedOrders.add(new ArchivedOrder(order.getId(), processedOrder.getProcessedAt(), archivedAt,
+                        order.getItems().stream().map(Product::getId).collect(Collectors.toSet())));
+            }
+        }
+        archivedOrderRepository.saveAll(archivedOrders);
+        orderRepository.deleteAll(orders.values());
+        processedOrderRepository.deleteAllInBatch(processedOrders);
+        return processedOrders.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.nimbleways.springclean.services.changes;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Objects;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Transactional outbox of product stock and lead time changes
+ * Hooks into Hibernate rather than the services so every write path is covered, and inserts the
+ * outbox row on the connection of the transaction that flushed the product, right before it commits.
+ * Stock held at a location is a {@link ProductStock} row, its changes are recorded with the location id.
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class ProductChangeOutbox implements PostInsertEventListener, PostUpdateEventListener {
+
+    static final String INSERT_CHANGE = "insert into product_changes (product_id, location_id, available, lead_time, "
+            + "changed_at) values (?, ?, ?, ?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            record(event.getSession(), (Long) event.getId(), null, product.getAvailable(), product.getLeadTime());
+        } else if (event.getEntity() instanceof ProductStock stock) {
+            record(event.getSession(), stock.getProductId(), stock.getLocation().getId(), stock.getAvailable(), null);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Product product
+                && (changed(event, "available") || changed(event, "leadTime"))) {
+            record(event.getSession(), (Long) event.getId(), null, product.getAvailable(), product.getLeadTime());
+        } else if (event.getEntity() instanceof ProductStock stock && changed(event, "available")) {
+            record(event.getSession(), stock.getProductId(), stock.getLocation().getId(), stock.getAvailable(), null);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private static boolean changed(PostUpdateEvent event, String property) {
+        if (event.getOldState() == null) {
+            return true;
+        }
+        int index = event.getPersister().getEntityMetamodel().getPropertyIndex(property);
+        return !Objects.equals(event.getOldState()[index], event.getState()[index]);
+    }
+
+    private static void record(SessionImplementor session, Long productId, Long locationId, Integer available,
+                               Integer leadTime) {
+        Timestamp changedAt = Timestamp.from(Instant.now());
+        session.getActionQueue().registerProcess(transaction -> transaction.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_CHANGE)) {
+                statement.setLong(1, productId);
+                statement.setObject(2, locationId);
+                statement.setObject(3, available);
+                statement.setObject(4, leadTime);
+                statement.setTimestamp(5, changedAt);
+                statement.executeUpdate();
+            }
+        }));
+    }
+}
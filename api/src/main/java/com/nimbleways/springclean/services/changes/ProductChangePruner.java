@@ -0,0 +1,60 @@
+package com.nimbleways.springclean.services.changes;
+
+import com.nimbleways.springclean.config.ProductChangePruningProperties;
+import com.nimbleways.springclean.entities.ProductChange;
+import com.nimbleways.springclean.repositories.ProductChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Background job deleting product changes older than the retention period
+ * Never deletes past the lowest cursor of a stream connected to this node, so a slow subscriber keeps its changes.
+ * Deletes by id range, oldest first, one transaction per chunk, like the order archiving.
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class ProductChangePruner {
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductChangeRelay productChangeRelay;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductChangePruningProperties properties;
+
+    @Scheduled(fixedDelayString = "${products.changes.pruning.interval:PT1H}")
+    public void prune() {
+        if (properties.enabled()) {
+            pruneBefore(Instant.now().minus(properties.retention()));
+        }
+    }
+
+    /**
+     * Delete changes chunk by chunk, up to maxChunksPerRun chunks
+     * @param cutoff Changes made before this instant are deleted
+     * @return Number of changes deleted
+     */
+    public int pruneBefore(Instant cutoff) {
+        long lowestCursor = productChangeRelay.lowestCursor();
+        int pruned = 0;
+        for (int chunk = 0; chunk < properties.maxChunksPerRun(); chunk++) {
+            Optional<ProductChange> oldest = productChangeRepository.findFirstByOrderByIdAsc();
+            if (oldest.isEmpty()) {
+                break;
+            }
+            long upTo = Math.min(oldest.get().getId() + properties.chunkSize() - 1, lowestCursor);
+            Integer deleted = transactionTemplate.execute(
+                    status -> productChangeRepository.deleteByIdLessThanEqualAndChangedAtBefore(upTo, cutoff));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            pruned += deleted;
+        }
+        return pruned;
+    }
+}
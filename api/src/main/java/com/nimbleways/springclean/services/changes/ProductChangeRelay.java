@@ -0,0 +1,176 @@
+package com.nimbleways.springclean.services.changes;
+
+import com.nimbleways.springclean.config.ProductChangeRelayProperties;
+import com.nimbleways.springclean.dto.product.ProductChangeResponse;
+import com.nimbleways.springclean.entities.ProductChange;
+import com.nimbleways.springclean.repositories.ProductChangeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Relay of the product change outbox
+ * Streams batched changes to server-sent-events subscribers, each one resuming from its own cursor.
+ * Subscribers sharing a cursor share the query, so caught up subscribers cost one query per poll.
+ * A change committed more than the gap timeout after its id was allocated is skipped, see {@link #deliverable}.
+ */
+@Lazy(false)
+@Component
+public class ProductChangeRelay {
+
+    static final String EVENT_NAME = "product-changes";
+
+    private final ProductChangeRepository productChangeRepository;
+    private final ProductChangeRelayProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Counter skippedChanges;
+    // highest id already counted as skipped, relay() never runs concurrently with itself
+    private long skippedUpTo;
+
+    public ProductChangeRelay(ProductChangeRepository productChangeRepository, ProductChangeRelayProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.productChangeRepository = productChangeRepository;
+        this.properties = properties;
+        this.skippedChanges = Counter.builder("products.changes.relay.skipped")
+                .description("Change ids passed over after the gap timeout, rolled back or committed too late to be streamed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of changes
+     * @param cursor Last change the client has seen, null to only receive new changes
+     * @return Emitter the changes are sent to
+     */
+    public SseEmitter subscribe(Long cursor) {
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        subscribe(emitter, cursor != null ? cursor : currentCursor());
+        return emitter;
+    }
+
+    void subscribe(SseEmitter emitter, long cursor) {
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * @return Lowest cursor of the streams connected to this node, Long.MAX_VALUE when there is none
+     */
+    long lowestCursor() {
+        long lowest = Long.MAX_VALUE;
+        for (Subscriber subscriber : subscribers) {
+            lowest = Math.min(lowest, subscriber.cursor);
+        }
+        return lowest;
+    }
+
+    @Scheduled(fixedDelayString = "${products.changes.relay.poll-interval:PT0.5S}")
+    public void relay() {
+        Map<Long, List<Subscriber>> subscribersByCursor = new TreeMap<>();
+        for (Subscriber subscriber : subscribers) {
+            subscribersByCursor.computeIfAbsent(subscriber.cursor, cursor -> new ArrayList<>()).add(subscriber);
+        }
+        subscribersByCursor.forEach(this::relay);
+    }
+
+    private void relay(long cursor, List<Subscriber> group) {
+        while (!group.isEmpty()) {
+            List<ProductChange> batch = productChangeRepository.findByIdGreaterThanOrderByIdAsc(
+                    cursor, PageRequest.ofSize(properties.batchSize()));
+            List<ProductChangeResponse> deliverable = deliverable(cursor, batch);
+            if (deliverable.isEmpty()) {
+                return;
+            }
+            cursor = deliverable.get(deliverable.size() - 1).cursor();
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .id(String.valueOf(cursor))
+                    .name(EVENT_NAME)
+                    .data(deliverable, MediaType.APPLICATION_JSON);
+            group.removeIf(subscriber -> !send(subscriber, event));
+            for (Subscriber subscriber : group) {
+                subscriber.cursor = cursor;
+            }
+            if (deliverable.size() < batch.size() || batch.size() < properties.batchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Identities are allocated before commit, so a lower cursor can become visible after a higher one.
+     * Stop at a gap until it is older than the gap timeout, then pass it as a rolled back transaction.
+     * A transaction still open at that point commits behind every cursor and its changes are never streamed:
+     * the skipped ids are counted in products.changes.relay.skipped, keep the gap timeout above the longest transaction.
+     */
+    private List<ProductChangeResponse> deliverable(long cursor, List<ProductChange> batch) {
+        Instant gapDeadline = Instant.now().minus(properties.gapTimeout());
+        List<ProductChangeResponse> deliverable = new ArrayList<>(batch.size());
+        long expected = cursor + 1;
+        for (ProductChange change : batch) {
+            if (change.getId() != expected) {
+                if (change.getChangedAt().isAfter(gapDeadline)) {
+                    break;
+                }
+                recordSkipped(expected, change.getId());
+            }
+            deliverable.add(ProductChangeResponse.from(change));
+            expected = change.getId() + 1;
+        }
+        return deliverable;
+    }
+
+    /**
+     * Count the ids from first to end, exclusive, once even when several cursors pass the same gap
+     */
+    private void recordSkipped(long first, long end) {
+        long counted = Math.max(first, skippedUpTo);
+        if (end > counted) {
+            skippedChanges.increment(end - counted);
+            skippedUpTo = end;
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private long currentCursor() {
+        return productChangeRepository.findFirstByOrderByIdDesc().map(ProductChange::getId).orElse(0L);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.nimbleways.springclean.services.decisions;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+import com.nimbleways.springclean.services.delivery.DeliveryDateEstimator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Pure decision engine for order items
+ * Takes a product snapshot and the processing date, returns an outcome and never touches persistence.
+ * Dates are compared as epoch days so a decision allocates nothing.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderItemDecisionEngine {
+
+    private final DeliveryDateEstimator deliveryDateEstimator;
+
+    /**
+     * Decide what processing an order item should do
+     * @param product Product snapshot, read only
+     * @param today Processing date
+     * @return Outcome to apply
+     */
+    public OrderItemOutcome decide(Product product, LocalDate today) {
+        if (product.getAvailable() > 0 && isSellable(product, today)) {
+            return OrderItemOutcome.DECREMENT;
+        }
+        return decideUnserved(product, today);
+    }
+
+    /**
+     * Decide what to do with an order item that no stock serves, the product-type handlers apply this
+     * @param product Product snapshot, read only
+     * @param today Processing date
+     * @return Outcome to apply, never {@link OrderItemOutcome#DECREMENT}
+     */
+    public OrderItemOutcome decideUnserved(Product product, LocalDate today) {
+        switch (product.getType()) {
+            case NORMAL:
+                return product.getLeadTime() > 0 ? OrderItemOutcome.DELAY : OrderItemOutcome.UNAVAILABLE;
+            case SEASONAL:
+                return decideUnservedSeasonal(product, today.toEpochDay());
+            case EXPIRABLE:
+                return OrderItemOutcome.EXPIRE;
+            default:
+                throw new IllegalArgumentException("Unknown product type: " + product.getType());
+        }
+    }
+
+    /**
+     * Whether the product may be served from stock on that date, wherever the stock is held
+     * Same date rules as {@link OrderItemOutcome#DECREMENT}, product.available is not looked at.
+     * @param product Product snapshot, read only
+     * @param today Processing date
+     */
+    public boolean isSellable(Product product, LocalDate today) {
+        switch (product.getType()) {
+            case NORMAL:
+                return true;
+            case SEASONAL:
+                return inSeason(product, today.toEpochDay());
+            case EXPIRABLE:
+                return notExpired(product, today.toEpochDay());
+            default:
+                throw new IllegalArgumentException("Unknown product type: " + product.getType());
+        }
+    }
+
+    private OrderItemOutcome decideUnservedSeasonal(Product product, long today) {
+        long seasonEnd = product.getSeasonEndDate().toEpochDay();
+        if (deliveryDateEstimator.deliveryEpochDay(today, product.getLeadTime()) > seasonEnd) {
+            return OrderItemOutcome.OUT_OF_STOCK;
+        }
+        if (product.getSeasonStartDate().toEpochDay() > today) {
+            return OrderItemOutcome.SEASON_NOT_STARTED;
+        }
+        return OrderItemOutcome.DELAY;
+    }
+
+    private static boolean inSeason(Product product, long today) {
+        return today > product.getSeasonStartDate().toEpochDay() && today < product.getSeasonEndDate().toEpochDay();
+    }
+
+    private static boolean notExpired(Product product, long today) {
+        return product.getExpiryDate().toEpochDay() > today;
+    }
+}
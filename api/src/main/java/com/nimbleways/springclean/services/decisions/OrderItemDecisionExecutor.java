@@ -0,0 +1,96 @@
+package com.nimbleways.springclean.services.decisions;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.services.implementations.NotificationService;
+import com.nimbleways.springclean.services.stock.LowStockMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies outcomes produced by {@link OrderItemDecisionEngine}
+ * Owns every side effect of order processing: stock mutation, persistence and notifications
+ * Low-stock alerts are only detected here, {@link LowStockMonitor} holds them until the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderItemDecisionExecutor {
+
+    private final ProductRepository productRepository;
+    private final NotificationService notificationService;
+    private final LowStockMonitor lowStockMonitor;
+
+    /**
+     * Apply a single outcome, same order as {@link #executeAll} without building a batch
+     * @param product Product the outcome was decided for
+     * @param outcome Outcome to apply
+     */
+    public void execute(Product product, OrderItemOutcome outcome) {
+        if (mutate(product, outcome)) {
+            productRepository.saveAndFlush(product);
+        }
+        notify(product, outcome);
+    }
+
+    /**
+     * Apply a batch of outcomes: mutate, save changed products in one call, then notify
+     * The save is flushed so a concurrent update is detected before any notification goes out.
+     * The batch is walked by index and changed products gathered in its own list, so applying it allocates nothing.
+     * @param decisions Decisions to apply
+     */
+    public void executeAll(OrderItemDecisions decisions) {
+        List<Product> changedProducts = decisions.changedProducts();
+        changedProducts.clear();
+        for (int i = 0; i < decisions.size(); i++) {
+            if (mutate(decisions.product(i), decisions.outcome(i))) {
+                changedProducts.add(decisions.product(i));
+            }
+        }
+        if (!changedProducts.isEmpty()) {
+            productRepository.saveAllAndFlush(changedProducts);
+        }
+        for (int i = 0; i < decisions.size(); i++) {
+            notify(decisions.product(i), decisions.outcome(i));
+        }
+    }
+
+    /**
+     * @return true when the product has to be saved
+     */
+    private boolean mutate(Product product, OrderItemOutcome outcome) {
+        switch (outcome) {
+            case DECREMENT:
+                product.setAvailable(product.getAvailable() - 1);
+                return true;
+            case OUT_OF_STOCK:
+            case EXPIRE:
+                product.setAvailable(0);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void notify(Product product, OrderItemOutcome outcome) {
+        switch (outcome) {
+            case DECREMENT:
+                lowStockMonitor.checkDecrement(product, product.getAvailable() + 1);
+                break;
+            case DELAY:
+                notificationService.sendDelayNotification(product.getLeadTime(), product.getName());
+                break;
+            case OUT_OF_STOCK:
+            case SEASON_NOT_STARTED:
+                notificationService.sendOutOfStockNotification(product.getName());
+                break;
+            case EXPIRE:
+                notificationService.sendExpirationNotification(product.getName(), product.getExpiryDate());
+                break;
+            default:
+                break;
+        }
+    }
+}
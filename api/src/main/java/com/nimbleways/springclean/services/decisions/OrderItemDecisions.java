@@ -0,0 +1,63 @@
+package com.nimbleways.springclean.services.decisions;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Outcomes decided for the items of one order, applied together by {@link OrderItemDecisionExecutor#executeAll}
+ * Held in parallel arrays rather than one object per item. An instance is meant to be reused order after order by one
+ * thread: clear() keeps the arrays, so a steady state records and applies items without allocating.
+ */
+public final class OrderItemDecisions {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<Product> changedProducts = new ArrayList<>();
+    private Product[] products = new Product[INITIAL_CAPACITY];
+    private OrderItemOutcome[] outcomes = new OrderItemOutcome[INITIAL_CAPACITY];
+    private int size;
+
+    public void add(Product product, OrderItemOutcome outcome) {
+        if (size == products.length) {
+            products = Arrays.copyOf(products, size * 2);
+            outcomes = Arrays.copyOf(outcomes, size * 2);
+        }
+        products[size] = product;
+        outcomes[size] = outcome;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Product product(int index) {
+        return products[Objects.checkIndex(index, size)];
+    }
+
+    public OrderItemOutcome outcome(int index) {
+        return outcomes[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Forget every decision, keeping the arrays for the next order
+     */
+    public void clear() {
+        Arrays.fill(products, 0, size, null);
+        Arrays.fill(outcomes, 0, size, null);
+        size = 0;
+        changedProducts.clear();
+    }
+
+    /**
+     * Products the executor has to save, reused like the decisions themselves
+     */
+    List<Product> changedProducts() {
+        return changedProducts;
+    }
+}
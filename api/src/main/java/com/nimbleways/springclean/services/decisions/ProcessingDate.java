@@ -0,0 +1,53 @@
+package com.nimbleways.springclean.services.decisions;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Processing date handed to {@link OrderItemDecisionEngine}
+ * LocalDate.now() builds an instant and a date on every call; this keeps the current day and the bounds
+ * it is valid for, so an order item only reads the wall clock and a new date is built once a day.
+ */
+@Component
+public class ProcessingDate {
+
+    private final Clock clock;
+    private volatile Day current;
+
+    @Autowired
+    public ProcessingDate() {
+        this(Clock.systemDefaultZone());
+    }
+
+    ProcessingDate(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return Today in the clock's zone
+     */
+    public LocalDate today() {
+        long now = clock.millis();
+        Day day = current;
+        if (day == null || now < day.startMillis() || now >= day.endMillis()) {
+            day = dayAt(now, clock.getZone());
+            current = day;
+        }
+        return day.date();
+    }
+
+    private static Day dayAt(long epochMillis, ZoneId zone) {
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+        return new Day(date,
+                date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+    }
+
+    private record Day(LocalDate date, long startMillis, long endMillis) {
+    }
+}
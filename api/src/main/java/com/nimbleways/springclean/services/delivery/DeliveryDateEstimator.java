@@ -0,0 +1,113 @@
+package com.nimbleways.springclean.services.delivery;
+
+import com.nimbleways.springclean.config.DeliveryCalendarProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Estimates delivery dates from a lead time in working days
+ * Working days are precomputed as epoch-day lookup tables, one year back to the horizon ahead of startup:
+ * adding a lead time is two array reads, dates outside the tables are walked day by day.
+ */
+@Component
+public class DeliveryDateEstimator {
+
+    private static final int DAYS_BEFORE_ORIGIN = 366;
+
+    private final boolean calendarDays;
+    private final Set<DayOfWeek> nonWorkingDays;
+    private final Set<Long> holidays;
+    private final long firstDay;
+    // workingDaysBefore[i]: working days in [firstDay, firstDay + i)
+    private final int[] workingDaysBefore;
+    // workingDays[k]: epoch day of the k-th working day from firstDay
+    private final long[] workingDays;
+
+    @Autowired
+    public DeliveryDateEstimator(DeliveryCalendarProperties properties) {
+        this(properties, LocalDate.now());
+    }
+
+    DeliveryDateEstimator(DeliveryCalendarProperties properties, LocalDate origin) {
+        this.nonWorkingDays = properties.nonWorkingDays() == null || properties.nonWorkingDays().isEmpty()
+                ? EnumSet.noneOf(DayOfWeek.class)
+                : EnumSet.copyOf(properties.nonWorkingDays());
+        if (nonWorkingDays.size() == DayOfWeek.values().length) {
+            throw new IllegalArgumentException("Delivery calendar has no working day");
+        }
+        this.holidays = new HashSet<>();
+        if (properties.holidays() != null) {
+            properties.holidays().forEach(holiday -> holidays.add(holiday.toEpochDay()));
+        }
+        this.calendarDays = nonWorkingDays.isEmpty() && holidays.isEmpty();
+        this.firstDay = origin.toEpochDay() - DAYS_BEFORE_ORIGIN;
+        int days = calendarDays ? 0 : DAYS_BEFORE_ORIGIN + properties.horizonDays();
+        this.workingDaysBefore = new int[days + 1];
+        long[] ordinals = new long[days];
+        int count = 0;
+        for (int i = 0; i < days; i++) {
+            workingDaysBefore[i] = count;
+            if (isWorkingDay(firstDay + i)) {
+                ordinals[count++] = firstDay + i;
+            }
+        }
+        workingDaysBefore[days] = count;
+        this.workingDays = Arrays.copyOf(ordinals, count);
+    }
+
+    /**
+     * Estimate a delivery date
+     * @param today Order date
+     * @param leadTime Lead time in working days
+     * @return Delivery date
+     */
+    public LocalDate estimateDelivery(LocalDate today, int leadTime) {
+        return LocalDate.ofEpochDay(deliveryEpochDay(today.toEpochDay(), leadTime));
+    }
+
+    /**
+     * Allocation free variant of {@link #estimateDelivery(LocalDate, int)}
+     * @return Epoch day of the leadTime-th working day after today, today when the lead time is not positive
+     */
+    public long deliveryEpochDay(long today, int leadTime) {
+        if (calendarDays) {
+            return today + leadTime;
+        }
+        if (leadTime <= 0) {
+            return today;
+        }
+        long offset = today - firstDay;
+        if (offset >= 0 && offset < workingDaysBefore.length - 1) {
+            int ordinal = workingDaysBefore[(int) offset + 1] + leadTime - 1;
+            if (ordinal < workingDays.length) {
+                return workingDays[ordinal];
+            }
+        }
+        return walk(today, leadTime);
+    }
+
+    private long walk(long today, int leadTime) {
+        long day = today;
+        int remaining = leadTime;
+        while (remaining > 0) {
+            day++;
+            if (isWorkingDay(day)) {
+                remaining--;
+            }
+        }
+        return day;
+    }
+
+    private boolean isWorkingDay(long epochDay) {
+        // 1970-01-01 was a Thursday
+        DayOfWeek dayOfWeek = DayOfWeek.THURSDAY.plus(Math.floorMod(epochDay, 7));
+        return !nonWorkingDays.contains(dayOfWeek) && !holidays.contains(epochDay);
+    }
+}
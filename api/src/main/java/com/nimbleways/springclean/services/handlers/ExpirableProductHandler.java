@@ -2,13 +2,12 @@ package com.nimbleways.springclean.services.handlers;
 
 import com.nimbleways.springclean.entities.Product;
 import com.nimbleways.springclean.enums.ProductType;
-import com.nimbleways.springclean.repositories.ProductRepository;
-import com.nimbleways.springclean.services.implementations.NotificationService;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionEngine;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionExecutor;
+import com.nimbleways.springclean.services.decisions.ProcessingDate;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-
 /**
  * Handler for EXPIRABLE products
  * Manages expiry date logic
@@ -17,36 +16,17 @@ import java.time.LocalDate;
 @RequiredArgsConstructor
 public class ExpirableProductHandler implements ProductHandler {
 
-    private final ProductRepository productRepository;
-    private final NotificationService notificationService;
+    private final OrderItemDecisionEngine decisionEngine;
+    private final OrderItemDecisionExecutor decisionExecutor;
+    private final ProcessingDate processingDate;
 
     @Override
     public void handle(Product product) {
-        if (isAvailableAndNotExpired(product)) {
-            decrementProductStock(product);
-        } else {
-            markProductAsExpired(product);
-        }
+        decisionExecutor.execute(product, decisionEngine.decide(product, processingDate.today()));
     }
 
     @Override
     public boolean supports(ProductType productType) {
         return ProductType.EXPIRABLE == productType;
     }
-
-    private boolean isAvailableAndNotExpired(Product product) {
-        return product.getAvailable() > 0
-                && product.getExpiryDate().isAfter(LocalDate.now());
-    }
-
-    private void decrementProductStock(Product product) {
-        product.setAvailable(product.getAvailable() - 1);
-        productRepository.save(product);
-    }
-
-    private void markProductAsExpired(Product product) {
-        notificationService.sendExpirationNotification(product.getName(), product.getExpiryDate());
-        product.setAvailable(0);
-        productRepository.save(product);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package com.nimbleways.springclean.services.implementations;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public class LowStockNotificationService {
+
+    public void sendLowStockNotification(String productName, int available, int threshold) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.nimbleways.springclean.services.implementations;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters describing optimistic locking conflicts and coalesced calls during order processing
+ */
+@Component
+public class OrderProcessingMetrics {
+
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter exhaustedRetries;
+    private final Counter coalesced;
+
+    public OrderProcessingMetrics(MeterRegistry meterRegistry) {
+        this.conflicts = Counter.builder("orders.processing.conflicts")
+                .description("Order processing attempts rejected by a concurrent product update")
+                .register(meterRegistry);
+        this.retries = Counter.builder("orders.processing.retries")
+                .description("Order processing attempts retried after a conflict")
+                .register(meterRegistry);
+        this.exhaustedRetries = Counter.builder("orders.processing.retries.exhausted")
+                .description("Orders that still conflicted after the last allowed attempt")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("orders.processing.coalesced")
+                .description("Order processing calls that joined an execution already in flight for the same order")
+                .register(meterRegistry);
+    }
+
+    public void recordConflict() {
+        conflicts.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordExhaustedRetries() {
+        exhaustedRetries.increment();
+    }
+
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+}
@@ -1,100 +1,166 @@
 package com.nimbleways.springclean.services.implementations;
 
+import com.nimbleways.springclean.config.OrderProcessingRetryProperties;
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.ProcessedOrder;
 import com.nimbleways.springclean.entities.Product;
-import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProcessedOrderRepository;
+import com.nimbleways.springclean.services.allocation.StockAllocator;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionEngine;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionExecutor;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisions;
+import com.nimbleways.springclean.services.decisions.ProcessingDate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service responsible for processing orders
- * Encapsulates the business logic for different product types
+ * Decisions come from {@link OrderItemDecisionEngine}, side effects from {@link OrderItemDecisionExecutor}
  */
 @Service
 @RequiredArgsConstructor
 public class OrderProcessingService {
 
-    private final ProductRepository productRepository;
-    private final ProductService productService;
+    private static final int MAX_BACKOFF_SHIFT = 20;
 
-    /**
-     * Process an order item based on its product type
-     * @param product Product to process
-     */
-    public void processOrderItem(Product product) {
-        switch (product.getType()) {
-            case NORMAL:
-                processNormalProduct(product);
-                break;
-            case SEASONAL:
-                processSeasonalProduct(product);
-                break;
-            case EXPIRABLE:
-                processExpirableProduct(product);
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown product type: " + product.getType());
-        }
-    }
+    private final OrderRepository orderRepository;
+    private final ProcessedOrderRepository processedOrderRepository;
+    private final OrderItemDecisionEngine decisionEngine;
+    private final OrderItemDecisionExecutor decisionExecutor;
+    private final StockAllocator stockAllocator;
+    private final ProcessingDate processingDate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderProcessingRetryProperties retryProperties;
+    private final OrderProcessingMetrics metrics;
+    private final ConcurrentMap<Long, CompletableFuture<Void>> inFlightOrders = new ConcurrentHashMap<>();
+    private final ThreadLocal<OrderItemDecisions> decisionBatches = ThreadLocal.withInitial(OrderItemDecisions::new);
 
     /**
-     * Process a normal product order
+     * Process a whole order in one transaction, which also records when it was processed for archiving
+     * Concurrent calls for the same order (double clicks, client retries) join the execution in flight
+     * and share its outcome instead of loading the order and competing on its products again.
+     * @param orderId Id of the order to process
      */
-    private void processNormalProduct(Product product) {
-        if (isProductAvailable(product)) {
-            decrementStock(product);
-        } else if (hasLeadTime(product)) {
-            productService.notifyDelay(product.getLeadTime(), product);
+    public void processOrder(Long orderId) {
+        CompletableFuture<Void> execution = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight = inFlightOrders.putIfAbsent(orderId, execution);
+        if (inFlight != null) {
+            metrics.recordCoalesced();
+            join(inFlight);
+            return;
+        }
+        try {
+            processOrderWithRetry(orderId);
+            inFlightOrders.remove(orderId, execution);
+            execution.complete(null);
+        } catch (RuntimeException | Error exception) {
+            inFlightOrders.remove(orderId, execution);
+            execution.completeExceptionally(exception);
+            throw exception;
         }
     }
 
     /**
-     * Process a seasonal product order
+     * A concurrent update of one of the order's products rolls the attempt back, it is then retried
+     * with a jittered exponential backoff until retryProperties.maxAttempts is reached.
+     * The processed order is written first, so a node processing the same order concurrently waits on its row
+     * and conflicts before any stock is touched or any notification sent.
      */
-    private void processSeasonalProduct(Product product) {
-        if (isInSeasonAndAvailable(product)) {
-            decrementStock(product);
-        } else {
-            productService.handleSeasonalProduct(product);
+    private void processOrderWithRetry(Long orderId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Order order = findOrderById(orderId);
+                    recordProcessed(orderId);
+                    processOrderItems(order.getItems());
+                });
+                return;
+            } catch (ConcurrencyFailureException exception) {
+                metrics.recordConflict();
+                if (attempt >= retryProperties.maxAttempts()) {
+                    metrics.recordExhaustedRetries();
+                    throw exception;
+                }
+                metrics.recordRetry();
+                backOff(attempt);
+            }
         }
     }
 
     /**
-     * Process an expirable product order
+     * Process all items of an order: serve what stock locations can, decide the rest, then apply the outcomes in bulk
+     * Items no location can serve go through the product-level outcomes: delay, season and expiry handling.
+     * Decisions are recorded in the calling thread's reusable batch, so only the order itself, not each of its items,
+     * costs allocations.
+     * @param products Products of the order
      */
-    private void processExpirableProduct(Product product) {
-        if (isAvailableAndNotExpired(product)) {
-            decrementStock(product);
-        } else {
-            productService.handleExpiredProduct(product);
+    public void processOrderItems(Collection<Product> products) {
+        LocalDate today = processingDate.today();
+        OrderItemDecisions decisions = decisionBatches.get();
+        try {
+            stockAllocator.allocate(products, product -> decisionEngine.isSellable(product, today),
+                    product -> decisions.add(product, decisionEngine.decide(product, today)));
+            decisionExecutor.executeAll(decisions);
+        } finally {
+            decisions.clear();
         }
     }
 
-    // ==================== Helper Methods ====================
-
-    private boolean isProductAvailable(Product product) {
-        return product.getAvailable() > 0;
-    }
-
-    private boolean hasLeadTime(Product product) {
-        return product.getLeadTime() > 0;
+    private static void join(CompletableFuture<Void> inFlight) {
+        try {
+            inFlight.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
     }
 
-    private boolean isInSeasonAndAvailable(Product product) {
-        LocalDate now = LocalDate.now();
-        return now.isAfter(product.getSeasonStartDate())
-                && now.isBefore(product.getSeasonEndDate())
-                && product.getAvailable() > 0;
+    /**
+     * Insert or update the order's processed row, flushed right away so a duplicate key surfaces here
+     * Two nodes processing a new order both see no row and both insert: the loser's duplicate key is a conflict
+     * like any other, its retry finds the row and updates it.
+     */
+    private void recordProcessed(Long orderId) {
+        try {
+            processedOrderRepository.saveAndFlush(new ProcessedOrder(orderId, Instant.now()));
+        } catch (DataIntegrityViolationException exception) {
+            throw new ConcurrencyFailureException("Order " + orderId + " was processed concurrently", exception);
+        }
     }
 
-    private boolean isAvailableAndNotExpired(Product product) {
-        return product.getAvailable() > 0
-                && product.getExpiryDate().isAfter(LocalDate.now());
+    private Order findOrderById(Long orderId) {
+        return orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
     }
 
-    private void decrementStock(Product product) {
-        product.setAvailable(product.getAvailable() - 1);
-        productRepository.save(product);
+    /**
+     * Sleep a random time between zero and an exponentially growing ceiling (full jitter),
+     * so nodes that collided do not collide again on the next attempt
+     */
+    private void backOff(int attempt) {
+        long ceiling = Math.min(
+                retryProperties.maxBackoff().toMillis(),
+                retryProperties.initialBackoff().toMillis() << Math.min(attempt - 1, MAX_BACKOFF_SHIFT));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying order processing", exception);
+        }
     }
-}
\ No newline at end of file
+}
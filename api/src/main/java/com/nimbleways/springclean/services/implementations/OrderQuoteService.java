@@ -0,0 +1,88 @@
+package com.nimbleways.springclean.services.implementations;
+
+import com.nimbleways.springclean.dto.product.OrderItemQuote;
+import com.nimbleways.springclean.dto.product.QuoteOrderResponse;
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.services.allocation.ProductLocations;
+import com.nimbleways.springclean.services.allocation.StockAllocator;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionEngine;
+import com.nimbleways.springclean.services.decisions.ProcessingDate;
+import com.nimbleways.springclean.services.delivery.DeliveryDateEstimator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service predicting the outcome of processing an order
+ * Runs the same decision logic as processOrder in a read-only transaction, nothing is written
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderQuoteService {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemDecisionEngine decisionEngine;
+    private final DeliveryDateEstimator deliveryDateEstimator;
+    private final ProcessingDate processingDate;
+    private final StockAllocator stockAllocator;
+
+    /**
+     * Quote every item of an order
+     * @param orderId Id of the order to quote
+     * @return Predicted outcome and delivery date per item, ordered by product id
+     */
+    @Transactional(readOnly = true)
+    public QuoteOrderResponse quoteOrder(Long orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+        LocalDate today = processingDate.today();
+        ProductLocations locations = stockAllocator.locate(order.getItems());
+        List<OrderItemQuote> items = order.getItems().stream()
+                .sorted(Comparator.comparing(Product::getId))
+                .map(product -> quoteOrderItem(product, today, locations))
+                .toList();
+        return new QuoteOrderResponse(order.getId(), items);
+    }
+
+    private OrderItemQuote quoteOrderItem(Product product, LocalDate today, ProductLocations locations) {
+        ProductStock stock = decisionEngine.isSellable(product, today) ? locations.peek(product.getId()) : null;
+        if (stock != null) {
+            int leadTime = stock.getLocation().getLeadTime();
+            return new OrderItemQuote(
+                    product.getId(),
+                    product.getName(),
+                    OrderItemOutcome.ALLOCATE,
+                    leadTime,
+                    deliveryDateEstimator.estimateDelivery(today, leadTime));
+        }
+        OrderItemOutcome outcome = decisionEngine.decide(product, today);
+        return new OrderItemQuote(
+                product.getId(),
+                product.getName(),
+                outcome,
+                product.getLeadTime(),
+                estimateDelivery(product, outcome, today));
+    }
+
+    /**
+     * @return Today when served from stock, after the lead time when delayed, null when the item is not delivered
+     */
+    private LocalDate estimateDelivery(Product product, OrderItemOutcome outcome, LocalDate today) {
+        switch (outcome) {
+            case DECREMENT:
+                return today;
+            case DELAY:
+                return deliveryDateEstimator.estimateDelivery(today, product.getLeadTime());
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.nimbleways.springclean.services.search;
+
+import com.nimbleways.springclean.dto.product.ProductSearchResponse;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * In-memory index of product names, exact lookups hash, prefix searches walk a sorted set
+ * Loaded in the background once the application is ready, then kept current from committed Hibernate inserts, updates
+ * and deletes; the listeners are registered first, so writes made during the load are not missed.
+ * A name is stored once and shared by both structures; ids per name are a small sorted array,
+ * replaced atomically, so most entries cost a single long. Rows written outside Hibernate need {@link #load()}.
+ */
+@Lazy(false)
+@Component
+@RequiredArgsConstructor
+public class ProductNameIndex implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    public static final int MAX_RESULTS = 100;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductRepository productRepository;
+    private final Map<String, long[]> idsByName = new ConcurrentHashMap<>();
+    private final NavigableSet<String> sortedNames = new ConcurrentSkipListSet<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    private final Set<Long> deletedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+    private volatile boolean loaded;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImpl.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Read the name column off the startup path: the application serves traffic while the index fills
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void loadInBackground() {
+        Thread loader = new Thread(this::load, "product-name-index-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Add every product of the table the index does not know yet, e.g. after a bulk SQL import
+     * Products already indexed are left alone: their listener events are never older than the loaded rows.
+     * Products deleted while the rows are read are remembered until the load ends, so a stale row cannot bring them back.
+     */
+    public synchronized void load() {
+        loading = true;
+        try {
+            for (ProductSearchResponse product : productRepository.findAllNames()) {
+                namesById.computeIfAbsent(product.id(), id -> {
+                    if (deletedDuringLoad.contains(id)) {
+                        return null;
+                    }
+                    add(product.name(), id);
+                    return product.name();
+                });
+            }
+            loaded = true;
+        } finally {
+            loading = false;
+            deletedDuringLoad.clear();
+        }
+    }
+
+    /**
+     * @return Whether a first {@link #load()} completed, {@link #search} is empty until then
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replacement for {@link ProductRepository#findFirstByName} that does not query once the index is loaded
+     * @param name Exact product name
+     * @return Lowest id of the products with that name
+     */
+    @SuppressWarnings("deprecation")
+    public Optional<Long> findFirstIdByName(String name) {
+        if (!loaded) {
+            return name != null ? productRepository.findFirstByName(name).map(Product::getId) : Optional.empty();
+        }
+        long[] ids = name != null ? idsByName.get(name) : null;
+        return ids != null ? Optional.of(ids[0]) : Optional.empty();
+    }
+
+    /**
+     * Products whose name starts with a prefix, ordered by name then id
+     * @param prefix Case sensitive prefix, empty matches every product
+     * @param limit Maximum number of results, capped at {@link #MAX_RESULTS}
+     */
+    public List<ProductSearchResponse> search(String prefix, int limit) {
+        int max = Math.max(0, Math.min(limit, MAX_RESULTS));
+        List<ProductSearchResponse> results = new ArrayList<>(Math.min(max, 16));
+        for (String name : sortedNames.tailSet(prefix, true)) {
+            if (results.size() >= max || !name.startsWith(prefix)) {
+                break;
+            }
+            long[] ids = idsByName.get(name);
+            for (int i = 0; ids != null && i < ids.length && results.size() < max; i++) {
+                results.add(new ProductSearchResponse(ids[i], name));
+            }
+        }
+        return results;
+    }
+
+    int size() {
+        return namesById.size();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            index(product.getId(), product.getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            index(product.getId(), product.getName());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            if (loading) {
+                deletedDuringLoad.add(product.getId());
+            }
+            index(product.getId(), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return Product.class.equals(persister.getMappedClass());
+    }
+
+    /**
+     * Move a product to its new name, null removes it; runs under the lock of the product id
+     */
+    private void index(Long productId, String name) {
+        namesById.compute(productId, (id, previousName) -> {
+            if (previousName != null && !previousName.equals(name)) {
+                remove(previousName, id);
+            }
+            if (name != null && !name.equals(previousName)) {
+                add(name, id);
+            }
+            return name;
+        });
+    }
+
+    private void add(String name, long id) {
+        if (name == null) {
+            return;
+        }
+        idsByName.compute(name, (key, ids) -> {
+            if (ids == null) {
+                sortedNames.add(key);
+                return new long[] {id};
+            }
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return ids;
+            }
+            int insertAt = -position - 1;
+            long[] added = new long[ids.length + 1];
+            System.arraycopy(ids, 0, added, 0, insertAt);
+            added[insertAt] = id;
+            System.arraycopy(ids, insertAt, added, insertAt + 1, ids.length - insertAt);
+            return added;
+        });
+    }
+
+    private void remove(String name, long id) {
+        idsByName.computeIfPresent(name, (key, ids) -> {
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return ids;
+            }
+            if (ids.length == 1) {
+                sortedNames.remove(key);
+                return null;
+            }
+            long[] removed = new long[ids.length - 1];
+            System.arraycopy(ids, 0, removed, 0, position);
+            System.arraycopy(ids, position + 1, removed, position, removed.length - position);
+            return removed;
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.nimbleways.springclean.services.stock;
+
+import com.nimbleways.springclean.config.LowStockThresholdProperties;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.services.implementations.LowStockNotificationService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Detects downward crossings of low-stock thresholds
+ * Works on the value before and after a decrement only, so a check is two map lookups and never reads the table.
+ * Inside a transaction the alert waits for the commit: an attempt rolled back by a conflict, then retried, alerts once.
+ */
+@Component
+public class LowStockMonitor {
+
+    private final LowStockNotificationService lowStockNotificationService;
+    private final Integer defaultThreshold;
+    private final Map<ProductType, Integer> thresholdsByType = new EnumMap<>(ProductType.class);
+    private final Map<Long, Integer> thresholdsByProduct;
+
+    public LowStockMonitor(LowStockNotificationService lowStockNotificationService,
+                           LowStockThresholdProperties properties) {
+        this.lowStockNotificationService = lowStockNotificationService;
+        this.defaultThreshold = properties.defaultThreshold();
+        if (properties.byType() != null) {
+            thresholdsByType.putAll(properties.byType());
+        }
+        this.thresholdsByProduct = properties.byProduct() != null ? Map.copyOf(properties.byProduct()) : Map.of();
+    }
+
+    /**
+     * Notify once when a decrement crossed the product's threshold
+     * @param product Product already holding its new available value
+     * @param previousAvailable Available value before the decrement
+     * @return true when a notification was sent, or will be once the current transaction commits
+     */
+    public boolean checkDecrement(Product product, int previousAvailable) {
+        return checkDecrement(product, previousAvailable, product.getAvailable());
+    }
+
+    /**
+     * Same check for stock that Product.available does not hold alone, e.g. the units left across stock locations
+     * @param product Product the thresholds are looked up for
+     * @param previousAvailable Units before the decrement
+     * @param available Units after the decrement
+     * @return true when a notification was sent, or will be once the current transaction commits
+     */
+    public boolean checkDecrement(Product product, int previousAvailable, int available) {
+        Integer threshold = thresholdFor(product);
+        if (threshold == null || previousAvailable <= threshold || available > threshold) {
+            return false;
+        }
+        String name = product.getName();
+        afterCommit(() -> lowStockNotificationService.sendLowStockNotification(name, available, threshold));
+        return true;
+    }
+
+    private static void afterCommit(Runnable notification) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notification.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notification.run();
+            }
+        });
+    }
+
+    Integer thresholdFor(Product product) {
+        Integer threshold = product.getId() != null ? thresholdsByProduct.get(product.getId()) : null;
+        if (threshold == null && product.getType() != null) {
+            threshold = thresholdsByType.get(product.getType());
+        }
+        return threshold != null ? threshold : defaultThreshold;
+    }
+}
@@ -1,9 +1,9 @@
 package com.nimbleways.springclean;
 
+import com.nimbleways.springclean.utils.Annotations.IntegrationTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@IntegrationTest
 class ApplicationIntegrationTests {
 
 	@Test
@@ -0,0 +1,62 @@
+package com.nimbleways.springclean;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.view.groovy.GroovyMarkupConfigurer;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("lean")
+class LeanProfileIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void processOrderShouldWork() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("USB Cable").type(ProductType.NORMAL).available(30).leadTime(15).build());
+        Order order = orderRepository.save(new Order(null, Set.of(product)));
+
+        mockMvc.perform(post("/orders/{orderId}/processOrder", order.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getAvailable()).isEqualTo(29);
+    }
+
+    @Test
+    void springdocShouldBeDisabled() throws Exception {
+        mockMvc.perform(get("/v3/api-docs")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unusedAutoConfigurationsShouldBeExcluded() {
+        assertThat(applicationContext.getBeanNamesForType(GroovyMarkupConfigurer.class)).isEmpty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nimbleways.springclean;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Startup budget of the lean profile, checked on every verify: time to the first successful processOrder
+ * The budget is the pom property startup.lean.budget, set a little above the measured value so a regression such as
+ * a new eager bean or auto-configuration fails the build. The pom runs this class alone in its own JVM after the
+ * other integration tests, Isolated keeps it alone should it share a JVM anyway.
+ */
+@Isolated
+class LeanStartupIntegrationTests {
+
+    private static final Duration DEFAULT_BUDGET = Duration.ofSeconds(16);
+
+    @Test
+    void leanContextShouldProcessItsFirstOrderWithinBudget() throws IOException, InterruptedException {
+        Duration budget = Duration.parse(System.getProperty("startup.lean.budget", DEFAULT_BUDGET.toString()));
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("lean")
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:lean-startup;DB_CLOSE_DELAY=-1")
+                .run()) {
+            HttpResponse<Void> response = processOrder(context, createOrder(context));
+            Duration startup = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(startup).as("lean start to first processOrder").isLessThan(budget);
+        }
+    }
+
+    private static Long createOrder(ConfigurableApplicationContext context) {
+        Product product = context.getBean(ProductRepository.class).save(Product.builder()
+                .name("USB Cable").type(ProductType.NORMAL).available(30).leadTime(15).build());
+        return context.getBean(OrderRepository.class).save(new Order(null, Set.of(product))).getId();
+    }
+
+    private static HttpResponse<Void> processOrder(ConfigurableApplicationContext context, Long orderId)
+            throws IOException, InterruptedException {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + contextPath + "/orders/" + orderId + "/processOrder"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+    }
+}
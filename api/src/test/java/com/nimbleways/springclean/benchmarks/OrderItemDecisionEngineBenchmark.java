@@ -0,0 +1,73 @@
+package com.nimbleways.springclean.benchmarks;
+
+import com.nimbleways.springclean.config.DeliveryCalendarProperties;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionEngine;
+import com.nimbleways.springclean.services.delivery.DeliveryDateEstimator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link OrderItemDecisionEngine#decide} over a mixed catalog
+ * Reported per decision
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderItemDecisionEngineBenchmark {
+
+    private static final int PRODUCT_COUNT = 1024;
+
+    private final OrderItemDecisionEngine decisionEngine = new OrderItemDecisionEngine(
+            new DeliveryDateEstimator(new DeliveryCalendarProperties(null, null, 3660)));
+    private final LocalDate today = LocalDate.of(2024, 6, 15);
+    private Product[] products;
+
+    @Setup
+    public void setUp() {
+        products = new Product[PRODUCT_COUNT];
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products[i] = createProduct(i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCT_COUNT)
+    public void decide(Blackhole blackhole) {
+        for (Product product : products) {
+            blackhole.consume(decisionEngine.decide(product, today));
+        }
+    }
+
+    private Product createProduct(int index) {
+        int available = index % 4 == 0 ? 0 : index % 50;
+        switch (index % 3) {
+            case 0:
+                return Product.builder().type(ProductType.NORMAL).available(available).leadTime(index % 20).build();
+            case 1:
+                return Product.builder().type(ProductType.SEASONAL).available(available).leadTime(index % 90)
+                        .seasonStartDate(today.minusDays(index % 60 - 20))
+                        .seasonEndDate(today.plusDays(index % 120)).build();
+            default:
+                return Product.builder().type(ProductType.EXPIRABLE).available(available).leadTime(index % 20)
+                        .expiryDate(today.plusDays(index % 30 - 10)).build();
+        }
+    }
+}
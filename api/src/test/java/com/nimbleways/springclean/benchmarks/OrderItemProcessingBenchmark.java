@@ -0,0 +1,98 @@
+package com.nimbleways.springclean.benchmarks;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.services.implementations.OrderProcessingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.nimbleways.springclean.utils.OrderProcessingServiceFixture.orderProcessingService;
+import static com.nimbleways.springclean.utils.Stubs.returning;
+
+/**
+ * Cost and allocation of {@link OrderProcessingService#processOrderItems} on a 1024 item order, reported per item
+ * Every fifth product is served from a stock location, the others go through the product-level outcomes.
+ * Persistence and notifications are stubbed out. Run with the GC profiler, gc.alloc.rate.norm should stay near 0:
+ * ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark.include=OrderItemProcessing -Dbenchmark.args="-prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderItemProcessingBenchmark {
+
+    private static final int PRODUCT_COUNT = 1024;
+    private static final int STOCK = 100_000_000;
+
+    private final LocalDate today = LocalDate.now();
+    private final StockLocation warehouse = StockLocation.builder().id(1L).code("PAR").priority(1).leadTime(2).build();
+    private final List<Product> order = new ArrayList<>(PRODUCT_COUNT);
+    private final List<ProductStock> stocks = new ArrayList<>(PRODUCT_COUNT);
+    private OrderProcessingService orderProcessingService;
+
+    @Setup
+    public void setUp() {
+        orderProcessingService = orderProcessingService()
+                .productStockRepository(returning(ProductStockRepository.class, "findByProductIdIn", stocks))
+                .build();
+    }
+
+    /**
+     * Processing mutates stock, restore the order and its locations so every iteration sees the same outcome mix
+     */
+    @Setup(Level.Iteration)
+    public void resetOrder() {
+        order.clear();
+        stocks.clear();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            order.add(createProduct(i));
+            if (i % 5 == 0) {
+                stocks.add(ProductStock.builder().productId((long) i).location(warehouse).available(STOCK).build());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PRODUCT_COUNT)
+    public void processOrderItems() {
+        orderProcessingService.processOrderItems(order);
+    }
+
+    private Product createProduct(int index) {
+        int available = index % 4 == 0 ? 0 : STOCK;
+        switch (index % 3) {
+            case 0:
+                return Product.builder().id((long) index).name("Normal " + index).type(ProductType.NORMAL)
+                        .available(available).leadTime(index % 20).build();
+            case 1:
+                return Product.builder().id((long) index).name("Seasonal " + index).type(ProductType.SEASONAL)
+                        .available(available).leadTime(index % 90)
+                        .seasonStartDate(today.minusDays(index % 60 - 20))
+                        .seasonEndDate(today.plusDays(index % 120)).build();
+            default:
+                return Product.builder().id((long) index).name("Expirable " + index).type(ProductType.EXPIRABLE)
+                        .available(available).leadTime(index % 20)
+                        .expiryDate(today.plusDays(index % 30 - 10)).build();
+        }
+    }
+}
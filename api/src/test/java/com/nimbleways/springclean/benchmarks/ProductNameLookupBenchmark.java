@@ -0,0 +1,102 @@
+package com.nimbleways.springclean.benchmarks;
+
+import com.nimbleways.springclean.Application;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.services.search.ProductNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a product by name at 1M products: {@link ProductRepository#findFirstByName} against {@link ProductNameIndex}
+ * Products are bulk inserted with JDBC into a database of their own, then loaded into the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductNameLookupBenchmark {
+
+    private static final int PRODUCT_COUNT = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductNameIndex productNameIndex;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:product-names;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int start = 0; start < PRODUCT_COUNT; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < start + INSERT_BATCH; i++) {
+                rows.add(new Object[] {name(i)});
+            }
+            jdbcTemplate.batchUpdate("insert into products (name, type, available, lead_time, version) "
+                    + "values (?, 'NORMAL', 10, 5, 0)", rows);
+        }
+        productRepository = context.getBean(ProductRepository.class);
+        productNameIndex = context.getBean(ProductNameIndex.class);
+        productNameIndex.load();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Optional<Product> repositoryFindFirstByName() {
+        return productRepository.findFirstByName(randomName());
+    }
+
+    @Benchmark
+    public Optional<Long> indexFindFirstIdByName() {
+        return productNameIndex.findFirstIdByName(randomName());
+    }
+
+    /**
+     * Ten matches per prefix
+     */
+    @Benchmark
+    public int indexSearchPrefix() {
+        String name = randomName();
+        return productNameIndex.search(name.substring(0, name.length() - 1), 20).size();
+    }
+
+    private static String randomName() {
+        return name(ThreadLocalRandom.current().nextInt(PRODUCT_COUNT));
+    }
+
+    private static String name(int index) {
+        return String.format("Product %07d", index);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nimbleways.springclean.benchmarks;
+
+import com.nimbleways.springclean.Application;
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start: time from a fresh JVM to the first successful processOrder call
+ * Every fork is one cold start, compare the default and lean profiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"default", "lean"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+
+    @Benchmark
+    public int startAndProcessFirstOrder() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles(profile)
+                .properties("server.port=0", "spring.jpa.hibernate.ddl-auto=update")
+                .run();
+        Long orderId = createOrder();
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/" + orderId + "/processOrder"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("processOrder failed with status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long createOrder() {
+        Product product = context.getBean(ProductRepository.class).save(Product.builder()
+                .name("USB Cable").type(ProductType.NORMAL).available(30).leadTime(15).build());
+        return context.getBean(OrderRepository.class).save(new Order(null, Set.of(product))).getId();
+    }
+}
@@ -0,0 +1,75 @@
+package com.nimbleways.springclean.benchmarks;
+
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.services.allocation.AllocationStrategy;
+import com.nimbleways.springclean.services.allocation.ProductLocations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation of order items across 50 stock locations, reported per item
+ * Most locations hold no stock of a given product, as in a real network, so the index has to skip them.
+ * perOrder indexes the stock rows of one order then allocates every item, as processOrder does after its query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StockAllocationBenchmark {
+
+    private static final int LOCATION_COUNT = 50;
+    private static final int ORDER_ITEMS = 100;
+    private static final double STOCKED_SHARE = 0.2;
+
+    @Param({"PRIORITY", "LEAD_TIME"})
+    public AllocationStrategy strategy;
+
+    private final List<ProductStock> stocks = new ArrayList<>(ORDER_ITEMS * LOCATION_COUNT);
+    private ProductLocations locations;
+
+    @Setup
+    public void setUp() {
+        locations = new ProductLocations(strategy.ranking());
+        Random random = new Random(42);
+        List<StockLocation> locations = new ArrayList<>(LOCATION_COUNT);
+        for (long id = 1; id <= LOCATION_COUNT; id++) {
+            locations.add(StockLocation.builder().id(id).code("L" + id)
+                    .priority(random.nextInt(10)).leadTime(random.nextInt(7)).build());
+        }
+        for (long productId = 1; productId <= ORDER_ITEMS; productId++) {
+            for (StockLocation location : locations) {
+                int available = random.nextDouble() < STOCKED_SHARE ? Integer.MAX_VALUE : 0;
+                stocks.add(ProductStock.builder().productId(productId).location(location).available(available).build());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDER_ITEMS)
+    public void perOrder(Blackhole blackhole) {
+        locations.index(stocks);
+        for (long productId = 1; productId <= ORDER_ITEMS; productId++) {
+            blackhole.consume(locations.allocate(productId));
+        }
+        blackhole.consume(locations.allocated());
+    }
+}
@@ -5,19 +5,24 @@ import com.nimbleways.springclean.entities.Product;
 import com.nimbleways.springclean.enums.ProductType;
 import com.nimbleways.springclean.repositories.OrderRepository;
 import com.nimbleways.springclean.repositories.ProductRepository;
-import com.nimbleways.springclean.services.implementations.NotificationService;
+import com.nimbleways.springclean.utils.Annotations.IntegrationTest;
+import com.nimbleways.springclean.utils.RecordingNotificationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 
 // import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDate;
@@ -25,18 +30,23 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 // Specify the controller class you want to test
 // This indicates to spring boot to only load UsersController into the context
 // Which allows a better performance and needs to do less mocks
-@SpringBootTest
-@AutoConfigureMockMvc
+@IntegrationTest
 public class OrderIntegrationTests {
         @Autowired
         private MockMvc mockMvc;
 
-        @MockBean
-        private NotificationService notificationService;
+        @Autowired
+        private RecordingNotificationService notificationService;
 
         @Autowired
         private OrderRepository orderRepository;
@@ -44,6 +54,9 @@ public class OrderIntegrationTests {
         @Autowired
         private ProductRepository productRepository;
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
         @Test
         public void processOrderShouldReturn() throws Exception {
                 List<Product> allProducts = createProducts();
@@ -51,11 +64,112 @@ public class OrderIntegrationTests {
                 Order order = createOrder(orderItems);
                 productRepository.saveAll(allProducts);
                 order = orderRepository.save(order);
+                RecordingNotificationService.Capture notifications = notificationService.capture();
                 mockMvc.perform(post("/orders/{orderId}/processOrder", order.getId())
                                 .contentType("application/json"))
                                 .andExpect(status().isOk());
                 Order resultOrder = orderRepository.findById(order.getId()).orElseThrow();
                 assertEquals(resultOrder.getId(), order.getId());
+                assertThat(notifications.notifications())
+                                .extracting(RecordingNotificationService.SentNotification::productName)
+                                .containsExactlyInAnyOrder("USB Dongle", "Milk", "Grapes");
+        }
+
+        @Test
+        public void quoteOrderShouldPredictOutcomesWithoutWriting() throws Exception {
+                List<Product> allProducts = productRepository.saveAll(createProducts());
+                Order order = orderRepository.save(createOrder(new HashSet<Product>(allProducts)));
+                RecordingNotificationService.Capture notifications = notificationService.capture();
+                mockMvc.perform(post("/orders/{orderId}/quote", order.getId())
+                                .contentType("application/json"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(order.getId()))
+                                .andExpect(jsonPath("$.items.length()").value(6))
+                                .andExpect(jsonPath("$.items[0].productName").value("USB Cable"))
+                                .andExpect(jsonPath("$.items[0].outcome").value("DECREMENT"))
+                                .andExpect(jsonPath("$.items[0].estimatedDelivery").value(LocalDate.now().toString()))
+                                .andExpect(jsonPath("$.items[1].outcome").value("DELAY"))
+                                .andExpect(jsonPath("$.items[1].estimatedDelivery").value(LocalDate.now().plusDays(10).toString()))
+                                .andExpect(jsonPath("$.items[2].outcome").value("DECREMENT"))
+                                .andExpect(jsonPath("$.items[3].outcome").value("EXPIRE"))
+                                .andExpect(jsonPath("$.items[4].outcome").value("DECREMENT"))
+                                .andExpect(jsonPath("$.items[5].outcome").value("SEASON_NOT_STARTED"))
+                                .andExpect(jsonPath("$.items[5].estimatedDelivery").isEmpty());
+                for (Product product : allProducts) {
+                        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+                        assertEquals(product.getAvailable(), reloaded.getAvailable());
+                }
+                assertThat(notifications.notifications()).isEmpty();
+        }
+
+        @Test
+        public void concurrentProcessOrderCallsShouldShareExecutions() throws Exception {
+                int callers = 8;
+                Product cable = productRepository.save(createProducts().get(0));
+                // out of stock with a lead time: the execution sends a delay notification, where it is held
+                Product dongle = productRepository.save(new Product(
+                                null, 10, 0, ProductType.NORMAL, "Held Dongle " + UUID.randomUUID(), null, null, null, null));
+                Order order = orderRepository.save(createOrder(new HashSet<Product>(List.of(cable, dongle))));
+                double coalescedBefore = coalesced();
+                CountDownLatch release = new CountDownLatch(1);
+                notificationService.hold(dongle.getName(), release);
+                ExecutorService pool = Executors.newFixedThreadPool(callers);
+                try {
+                        List<Future<?>> calls = new ArrayList<>();
+                        for (int i = 0; i < callers; i++) {
+                                calls.add(pool.submit(() -> mockMvc.perform(post("/orders/{orderId}/processOrder", order.getId())
+                                                .contentType("application/json"))
+                                                .andExpect(status().isOk())
+                                                .andExpect(jsonPath("$.id").value(order.getId()))));
+                        }
+                        // the first execution cannot finish before every other caller has joined it
+                        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                        while (coalesced() - coalescedBefore < callers - 1 && System.nanoTime() < deadline) {
+                                Thread.sleep(5);
+                        }
+                        release.countDown();
+                        for (Future<?> call : calls) {
+                                call.get(30, TimeUnit.SECONDS);
+                        }
+                } finally {
+                        release.countDown();
+                        notificationService.unhold(dongle.getName());
+                        pool.shutdown();
+                }
+                assertEquals(callers - 1, coalesced() - coalescedBefore, 0);
+                assertEquals(29, productRepository.findById(cable.getId()).orElseThrow().getAvailable());
+        }
+
+        @Test
+        public void quoteShouldBeNegotiableAsCbor() throws Exception {
+                List<Product> allProducts = productRepository.saveAll(createProducts());
+                Order order = orderRepository.save(createOrder(new HashSet<Product>(allProducts)));
+                byte[] body = mockMvc.perform(post("/orders/{orderId}/quote", order.getId())
+                                .accept("application/cbor"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/cbor"))
+                                .andReturn().getResponse().getContentAsByteArray();
+                JsonNode quote = new CBORMapper().readTree(body);
+                assertEquals(order.getId().longValue(), quote.get("id").asLong());
+                assertEquals(6, quote.get("items").size());
+                assertEquals("USB Cable", quote.get("items").get(0).get("productName").asText());
+                assertEquals(LocalDate.now().toString(), quote.get("items").get(0).get("estimatedDelivery").asText());
+        }
+
+        @Test
+        public void processOrderShouldBeNegotiableAsSmile() throws Exception {
+                Product cable = productRepository.save(createProducts().get(0));
+                Order order = orderRepository.save(createOrder(new HashSet<Product>(List.of(cable))));
+                byte[] body = mockMvc.perform(post("/orders/{orderId}/processOrder", order.getId())
+                                .accept("application/x-jackson-smile"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-jackson-smile"))
+                                .andReturn().getResponse().getContentAsByteArray();
+                assertEquals(order.getId().longValue(), new SmileMapper().readTree(body).get("id").asLong());
+        }
+
+        private double coalesced() {
+                return meterRegistry.get("orders.processing.coalesced").counter().count();
         }
 
         private static Order createOrder(Set<Product> products) {
@@ -69,32 +183,34 @@ public class OrderIntegrationTests {
 
         // NORMAL products
         products.add(new Product(
-                null, 15, 30, ProductType.NORMAL, "USB Cable", null, null, null
+                null, 15, 30, ProductType.NORMAL, "USB Cable", null, null, null, null
         ));
         products.add(new Product(
-                null, 10, 0, ProductType.NORMAL, "USB Dongle", null, null, null
+                null, 10, 0, ProductType.NORMAL, "USB Dongle", null, null, null, null
         ));
 
         // EXPIRABLE products
         products.add(new Product(
                 null, 15, 30, ProductType.EXPIRABLE, "Butter",
-                LocalDate.now().plusDays(26), null, null
+                LocalDate.now().plusDays(26), null, null, null
         ));
         products.add(new Product(
                 null, 90, 6, ProductType.EXPIRABLE, "Milk",
-                LocalDate.now().minusDays(2), null, null  // Expired
+                LocalDate.now().minusDays(2), null, null, null  // Expired
         ));
 
         // SEASONAL products
         products.add(new Product(
                 null, 15, 30, ProductType.SEASONAL, "Watermelon", null,
                 LocalDate.now().minusDays(2),    // Season started
-                LocalDate.now().plusDays(58)     // Season ends in future
+                LocalDate.now().plusDays(58),    // Season ends in future
+                null
         ));
         products.add(new Product(
                 null, 15, 30, ProductType.SEASONAL, "Grapes", null,
                 LocalDate.now().plusDays(180),   // Season starts in future
-                LocalDate.now().plusDays(240)
+                LocalDate.now().plusDays(240),
+                null
         ));
 
         return products;
@@ -0,0 +1,203 @@
+package com.nimbleways.springclean.controllers;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductChange;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductChangeRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.repositories.StockLocationRepository;
+import com.nimbleways.springclean.services.implementations.ProductService;
+import com.nimbleways.springclean.utils.Annotations.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+public class ProductChangeFeedIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductChangeRepository productChangeRepository;
+
+    @Autowired
+    private StockLocationRepository stockLocationRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    public void relayShouldNotShareTheOnlySchedulerThread() {
+        assertThat(taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize()).isGreaterThan(1);
+    }
+
+    @Test
+    public void processOrderShouldWriteOneOutboxRowPerChangedProduct() throws Exception {
+        List<Product> products = productRepository.saveAll(createProducts());
+        long cursor = latestCursor();
+
+        processOrder(products);
+
+        assertThat(changesSince(cursor, products))
+                .extracting(ProductChange::getProductId, ProductChange::getAvailable)
+                .containsExactlyInAnyOrder(
+                        tuple(products.get(0).getId(), 29),
+                        tuple(products.get(2).getId(), 0));
+    }
+
+    @Test
+    public void locationAllocationShouldWriteOutboxRowForTheLocation() throws Exception {
+        Product product = productRepository.save(createProducts().get(0));
+        StockLocation location = stockLocationRepository.save(StockLocation.builder()
+                .code(UUID.randomUUID().toString()).priority(1).leadTime(2).build());
+        productStockRepository.save(ProductStock.builder()
+                .productId(product.getId()).location(location).available(3).build());
+        long cursor = latestCursor();
+
+        processOrder(List.of(product));
+
+        assertThat(changesSince(cursor, List.of(product)))
+                .extracting(ProductChange::getLocationId, ProductChange::getAvailable, ProductChange::getLeadTime)
+                .containsExactly(tuple(location.getId(), 2, null));
+    }
+
+    @Test
+    public void leadTimeChangeShouldWriteOutboxRow() {
+        Product product = productRepository.save(createProducts().get(1));
+        long cursor = latestCursor();
+
+        productService.notifyDelay(20, product);
+
+        assertThat(changesSince(cursor, List.of(product)))
+                .extracting(ProductChange::getLeadTime)
+                .containsExactly(20);
+    }
+
+    @Test
+    public void rolledBackChangeShouldNotWriteOutboxRow() {
+        Product product = productRepository.save(createProducts().get(0));
+        long cursor = latestCursor();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Product loaded = productRepository.findById(product.getId()).orElseThrow();
+            loaded.setAvailable(0);
+            productRepository.saveAndFlush(loaded);
+            status.setRollbackOnly();
+        });
+
+        assertThat(changesSince(cursor, List.of(product))).isEmpty();
+    }
+
+    @Test
+    public void changesShouldBeStreamedFromTheCursor() throws Exception {
+        List<Product> products = productRepository.saveAll(createProducts());
+        long cursor = latestCursor();
+        MvcResult stream = mockMvc.perform(get("/products/changes").param("since", String.valueOf(cursor)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            processOrder(products);
+
+            awaitContent(stream, "\"productId\":" + products.get(0).getId());
+            awaitContent(stream, "\"productId\":" + products.get(2).getId());
+            assertThat(stream.getResponse().getContentAsString())
+                    .contains("event:product-changes")
+                    .doesNotContain("\"productId\":" + products.get(1).getId() + ",");
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    public void lastEventIdShouldTakePrecedenceOverSince() throws Exception {
+        List<Product> products = productRepository.saveAll(createProducts());
+        long resumeFrom = latestCursor();
+        MvcResult stream = mockMvc.perform(get("/products/changes")
+                        .param("since", "0")
+                        .header("Last-Event-ID", String.valueOf(resumeFrom)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        try {
+            productService.notifyDelay(21, products.get(1));
+
+            awaitContent(stream, "\"leadTime\":21");
+            assertThat(stream.getResponse().getContentAsString())
+                    .doesNotContain("\"productId\":" + products.get(0).getId() + ",");
+        } finally {
+            stream.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    private void processOrder(List<Product> products) throws Exception {
+        Order order = new Order();
+        order.setItems(new HashSet<>(products));
+        order = orderRepository.save(order);
+        mockMvc.perform(post("/orders/{orderId}/processOrder", order.getId())
+                        .contentType("application/json"))
+                .andExpect(status().isOk());
+    }
+
+    private long latestCursor() {
+        return productChangeRepository.findFirstByOrderByIdDesc().map(ProductChange::getId).orElse(0L);
+    }
+
+    private List<ProductChange> changesSince(long cursor, List<Product> products) {
+        List<Long> productIds = products.stream().map(Product::getId).collect(Collectors.toList());
+        return productChangeRepository.findByIdGreaterThanOrderByIdAsc(cursor, Pageable.unpaged()).stream()
+                .filter(change -> productIds.contains(change.getProductId()))
+                .collect(Collectors.toList());
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!stream.getResponse().getContentAsString().contains(expected)) {
+            assertThat(System.currentTimeMillis()).as("stream content %s", expected).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<Product> createProducts() {
+        return List.of(
+                new Product(null, 15, 30, ProductType.NORMAL, "Feed Cable", null, null, null, null),
+                new Product(null, 10, 0, ProductType.NORMAL, "Feed Dongle", null, null, null, null),
+                new Product(null, 90, 6, ProductType.EXPIRABLE, "Feed Milk",
+                        LocalDate.now().minusDays(2), null, null, null));
+    }
+}
@@ -0,0 +1,87 @@
+package com.nimbleways.springclean.controllers;
+
+import com.nimbleways.springclean.contollers.ProductController;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.services.search.ProductNameIndex;
+import com.nimbleways.springclean.utils.Annotations.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+public class ProductSearchIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductNameIndex productNameIndex;
+
+    @Test
+    public void searchShouldFollowCommittedProductWrites() throws Exception {
+        awaitIndexLoaded();
+        String prefix = "Search " + UUID.randomUUID() + " ";
+        List<Product> products = productRepository.saveAll(List.of(
+                createProduct(prefix + "Cable"), createProduct(prefix + "Adapter")));
+
+        mockMvc.perform(get("/products/search").param("prefix", prefix))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value(prefix + "Adapter"))
+                .andExpect(jsonPath("$[1].id").value(products.get(0).getId()));
+
+        Product renamed = products.get(1);
+        renamed.setName("Renamed " + prefix);
+        productRepository.save(renamed);
+        productRepository.delete(products.get(0));
+
+        mockMvc.perform(get("/products/search").param("prefix", prefix).param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        assertThat(productNameIndex.findFirstIdByName("Renamed " + prefix)).contains(renamed.getId());
+    }
+
+    @Test
+    public void searchShouldAnswer503_UntilTheIndexIsLoaded() throws Exception {
+        Product product = productRepository.save(createProduct("Unindexed " + UUID.randomUUID()));
+        ProductNameIndex loading = new ProductNameIndex(null, productRepository);
+        MockMvc standalone = MockMvcBuilders.standaloneSetup(new ProductController(null, loading)).build();
+
+        standalone.perform(get("/products/search").param("prefix", "Unindexed"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        assertThat(loading.findFirstIdByName(product.getName())).contains(product.getId());
+
+        loading.load();
+
+        standalone.perform(get("/products/search").param("prefix", product.getName()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(product.getId()));
+    }
+
+    private void awaitIndexLoaded() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!productNameIndex.isLoaded() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(productNameIndex.isLoaded()).isTrue();
+    }
+
+    private static Product createProduct(String name) {
+        return Product.builder().name(name).type(ProductType.NORMAL).available(10).leadTime(5).build();
+    }
+}
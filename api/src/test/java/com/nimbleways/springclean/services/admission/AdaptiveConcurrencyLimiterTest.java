@@ -0,0 +1,75 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.config.AdmissionControlProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(2, 1, 4));
+
+    @Test
+    void tryAcquire_ShouldRejectAboveTheLimit() {
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_ShouldShrinkTheLimit_WhenSlowerThanTarget() {
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+
+        assertThat(limiter.getLimit()).isEqualTo(1.0);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void release_ShouldGrowTheLimit_OnlyWhileItIsUsed() {
+        AdaptiveConcurrencyLimiter wide = new AdaptiveConcurrencyLimiter(properties(4, 1, 8));
+        wide.tryAcquire();
+        wide.release(FAST);
+        assertThat(wide.getLimit()).isEqualTo(4.0);
+
+        for (int i = 0; i < 4; i++) {
+            wide.tryAcquire();
+        }
+        wide.release(FAST);
+        assertThat(wide.getLimit()).isEqualTo(4.25);
+    }
+
+    @Test
+    void limit_ShouldStayWithinBounds() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(1.0);
+
+        for (int i = 0; i < 1000; i++) {
+            while (limiter.tryAcquire()) {
+                // saturate the limit so it is allowed to grow
+            }
+            limiter.release(FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4.0);
+    }
+
+    static AdmissionControlProperties properties(int initial, int min, int max) {
+        return new AdmissionControlProperties(true, 1, 2, initial, min, max, Duration.ofMillis(100), 0.5, Set.of());
+    }
+}
@@ -0,0 +1,136 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.utils.RecordingNotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Admission control in front of the real order endpoints
+ * A client gets two requests, then one every 100 s; one request at a time is admitted overall.
+ */
+@SpringBootTest(properties = {
+        "orders.admission.client-permits-per-second=0.01",
+        "orders.admission.client-burst=2",
+        "orders.admission.initial-concurrency=1",
+        "orders.admission.min-concurrency=1",
+        "orders.admission.max-concurrency=1",
+        "orders.admission.latency-target=1m"})
+@AutoConfigureMockMvc
+@Import(RecordingNotificationService.Configuration.class)
+class AdmissionControlIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecordingNotificationService notificationService;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clientOverItsRateShouldGet429_WhateverClientIdItSends() throws Exception {
+        Long orderId = createOrder("USB Cable " + UUID.randomUUID(), 30);
+        double rejectedBefore = rejected("rate");
+
+        quote(orderId, "10.1.0.1").andExpect(status().isOk());
+        quote(orderId, "10.1.0.1").andExpect(status().isOk());
+        quote(orderId, "10.1.0.1")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"));
+        mockMvc.perform(post("/orders/{orderId}/quote", orderId)
+                        .header(AdmissionControlInterceptor.CLIENT_ID_HEADER, UUID.randomUUID().toString())
+                        .with(request -> {
+                            request.setRemoteAddr("10.1.0.1");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests());
+
+        quote(orderId, "10.1.0.9").andExpect(status().isOk());
+        assertThat(rejected("rate") - rejectedBefore).isEqualTo(2);
+    }
+
+    @Test
+    void requestOverTheConcurrencyLimitShouldGet429_UntilTheRequestInFlightCompletes() throws Exception {
+        String heldProduct = "Held Dongle " + UUID.randomUUID();
+        // out of stock with a lead time: processing sends a delay notification, where it is held
+        Long heldOrderId = createOrder(heldProduct, 0);
+        Long orderId = createOrder("USB Cable " + UUID.randomUUID(), 30);
+        CountDownLatch release = new CountDownLatch(1);
+        notificationService.hold(heldProduct, release);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResultActions> inFlight = executor.submit(() -> mockMvc.perform(
+                    post("/orders/{orderId}/processOrder", heldOrderId).with(request -> {
+                        request.setRemoteAddr("10.2.0.1");
+                        return request;
+                    })));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (concurrencyLimiter.getInFlight() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            quote(orderId, "10.2.0.2")
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "1"));
+
+            release.countDown();
+            inFlight.get(30, TimeUnit.SECONDS).andExpect(status().isOk());
+        } finally {
+            release.countDown();
+            notificationService.unhold(heldProduct);
+            executor.shutdown();
+        }
+        quote(orderId, "10.2.0.2").andExpect(status().isOk());
+    }
+
+    private ResultActions quote(Long orderId, String address) throws Exception {
+        return mockMvc.perform(post("/orders/{orderId}/quote", orderId).with(request -> {
+            request.setRemoteAddr(address);
+            return request;
+        }));
+    }
+
+    private Long createOrder(String productName, int available) {
+        Product product = productRepository.save(Product.builder()
+                .name(productName).type(ProductType.NORMAL).available(available).leadTime(10).build());
+        return orderRepository.save(new Order(null, Set.of(product))).getId();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("orders.admission.rejected").tag("reason", reason).counter().count();
+    }
+}
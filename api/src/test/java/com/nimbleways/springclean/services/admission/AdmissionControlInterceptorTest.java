@@ -0,0 +1,113 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void preHandle_ShouldAnswer429_WhenClientExceedsItsRate() {
+        AdmissionControlInterceptor interceptor = interceptor(properties(1, 2, 10));
+
+        assertThat(admit(interceptor, request("10.0.0.1"))).isTrue();
+        assertThat(admit(interceptor, request("10.0.0.1"))).isTrue();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("10.0.0.1"), rejected, null)).isFalse();
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(admit(interceptor, request("10.0.0.2"))).isTrue();
+        assertThat(meterRegistry.get("orders.admission.rejected").tag("reason", "rate").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void preHandle_ShouldAnswer429_WhenConcurrencyLimitIsReached() {
+        AdmissionControlInterceptor interceptor = interceptor(properties(100, 100, 1));
+        MockHttpServletRequest inFlight = request("10.0.0.1");
+        assertThat(interceptor.preHandle(inFlight, new MockHttpServletResponse(), null)).isTrue();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("10.0.0.2"), rejected, null)).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(429);
+
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), null, null);
+        assertThat(admit(interceptor, request("10.0.0.2"))).isTrue();
+        assertThat(meterRegistry.get("orders.admission.rejected").tag("reason", "concurrency").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void clientOf_ShouldPreferPrincipalThenAddress() {
+        AdmissionControlInterceptor interceptor = interceptor(properties(1, 2, 10));
+        MockHttpServletRequest request = request("10.0.0.7");
+        request.addHeader(AdmissionControlInterceptor.CLIENT_ID_HEADER, "shop-a");
+        assertThat(interceptor.clientOf(request)).isEqualTo("address:10.0.0.7");
+
+        request.setUserPrincipal(() -> "alice");
+        assertThat(interceptor.clientOf(request)).isEqualTo("principal:alice");
+    }
+
+    @Test
+    void clientOf_ShouldOnlyTrustTheClientIdHeader_FromATrustedGateway() {
+        AdmissionControlInterceptor interceptor = interceptor(new AdmissionControlProperties(true, 1, 2, 10, 1, 10,
+                Duration.ofSeconds(1), 0.9, Set.of("10.0.0.1")));
+        MockHttpServletRequest viaGateway = request("10.0.0.1");
+        viaGateway.addHeader(AdmissionControlInterceptor.CLIENT_ID_HEADER, "shop-a");
+        MockHttpServletRequest direct = request("10.0.0.7");
+        direct.addHeader(AdmissionControlInterceptor.CLIENT_ID_HEADER, "shop-a");
+
+        assertThat(interceptor.clientOf(viaGateway)).isEqualTo("client:shop-a");
+        assertThat(interceptor.clientOf(request("10.0.0.1"))).isEqualTo("address:10.0.0.1");
+        assertThat(interceptor.clientOf(direct)).isEqualTo("address:10.0.0.7");
+    }
+
+    @Test
+    void evictIdleClients_ShouldOnlyDropFullBuckets() throws InterruptedException {
+        ClientRateLimiter slow = new ClientRateLimiter(properties(1, 2, 10));
+        ClientRateLimiter fast = new ClientRateLimiter(properties(1_000_000, 2, 10));
+        slow.tryAcquire("shop-a");
+        fast.tryAcquire("shop-a");
+        Thread.sleep(5);
+
+        slow.evictIdleClients();
+        fast.evictIdleClients();
+
+        assertThat(slow.trackedClients()).isEqualTo(1);
+        assertThat(fast.trackedClients()).isZero();
+    }
+
+    private AdmissionControlInterceptor interceptor(AdmissionControlProperties properties) {
+        return new AdmissionControlInterceptor(new ClientRateLimiter(properties),
+                new AdaptiveConcurrencyLimiter(properties), properties, meterRegistry);
+    }
+
+    private static boolean admit(AdmissionControlInterceptor interceptor, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        return admitted;
+    }
+
+    private static MockHttpServletRequest request(String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders/1/processOrder");
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private static AdmissionControlProperties properties(double permitsPerSecond, int burst, int concurrency) {
+        return new AdmissionControlProperties(true, permitsPerSecond, burst, concurrency, 1, concurrency,
+                Duration.ofSeconds(1), 0.9, Set.of());
+    }
+}
@@ -0,0 +1,125 @@
+package com.nimbleways.springclean.services.admission;
+
+import com.nimbleways.springclean.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Goodput of a saturated order endpoint with and without admission control
+ * The handler has a fixed service time and two workers, hence a capacity of 100 requests/s; a request waits up to a
+ * second for a worker, like a connection pool's connection timeout, then fails. Requests arrive open loop at 3x the
+ * capacity and only successful responses within the SLO count, their latency taken from the scheduled arrival.
+ */
+class AdmissionControlOverloadTest {
+
+    private static final int WORKERS = 2;
+    private static final Duration SERVICE_TIME = Duration.ofMillis(20);
+    private static final Duration WORKER_WAIT = Duration.ofSeconds(1);
+    private static final int CAPACITY_PER_SECOND = (int) (WORKERS * 1000 / SERVICE_TIME.toMillis());
+    private static final int OFFERED_PER_SECOND = 3 * CAPACITY_PER_SECOND;
+    private static final int RUN_SECONDS = 3;
+    private static final Duration SLO = Duration.ofMillis(500);
+
+    @Test
+    void goodputShouldStayNearCapacity_WithTheLimiter_AndCollapseWithoutIt() throws Exception {
+        // a latency target well under the SLO; the client rate limiter is out of the way
+        AdmissionControlProperties properties = new AdmissionControlProperties(true, 1_000_000, 1_000_000, 4, 2, 100,
+                Duration.ofMillis(100), 0.9, Set.of());
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(new ClientRateLimiter(properties),
+                new AdaptiveConcurrencyLimiter(properties), properties, new SimpleMeterRegistry());
+
+        Run withoutLimiter = drive(MockMvcBuilders.standaloneSetup(new FixedServiceTimeController()).build());
+        Run withLimiter = drive(MockMvcBuilders.standaloneSetup(new FixedServiceTimeController())
+                .addInterceptors(interceptor).build());
+
+        assertThat(withLimiter.goodputPerSecond())
+                .as("goodput with the limiter, %s, without it, %s", withLimiter, withoutLimiter)
+                .isGreaterThanOrEqualTo(0.6 * CAPACITY_PER_SECOND)
+                .isGreaterThanOrEqualTo(2 * withoutLimiter.goodputPerSecond());
+        assertThat(withLimiter.rejected()).isPositive();
+        assertThat(withoutLimiter.rejected()).isZero();
+    }
+
+    private static Run drive(MockMvc mockMvc) throws Exception {
+        ExecutorService clients = Executors.newCachedThreadPool();
+        List<Future<Long>> latencies = new ArrayList<>();
+        long interval = TimeUnit.SECONDS.toNanos(1) / OFFERED_PER_SECOND;
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < OFFERED_PER_SECOND * RUN_SECONDS; i++) {
+                long sentAt = start + i * interval;
+                LockSupport.parkNanos(sentAt - System.nanoTime());
+                long orderId = i;
+                latencies.add(clients.submit(() -> {
+                    int status = mockMvc.perform(post("/orders/{orderId}/processOrder", orderId))
+                            .andReturn().getResponse().getStatus();
+                    long latency = System.nanoTime() - sentAt;
+                    return status == HttpStatus.OK.value() ? latency : -status;
+                }));
+            }
+            int good = 0;
+            int rejected = 0;
+            for (Future<Long> latency : latencies) {
+                long result = latency.get();
+                if (result == -HttpStatus.TOO_MANY_REQUESTS.value()) {
+                    rejected++;
+                } else if (result >= 0 && result <= SLO.toNanos()) {
+                    good++;
+                }
+            }
+            return new Run(latencies.size(), good, rejected);
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    private record Run(int sent, int good, int rejected) {
+
+        double goodputPerSecond() {
+            return (double) good / RUN_SECONDS;
+        }
+    }
+
+    /**
+     * Mapped without a stereotype annotation, so component scans do not register it next to the real order endpoint
+     */
+    @RequestMapping("/orders")
+    public static class FixedServiceTimeController {
+
+        private final Semaphore workers = new Semaphore(WORKERS, true);
+
+        @PostMapping("/{orderId}/processOrder")
+        public ResponseEntity<Void> processOrder(@PathVariable Long orderId) throws InterruptedException {
+            if (!workers.tryAcquire(WORKER_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            try {
+                Thread.sleep(SERVICE_TIME.toMillis());
+            } finally {
+                workers.release();
+            }
+            return ResponseEntity.ok().build();
+        }
+    }
+}
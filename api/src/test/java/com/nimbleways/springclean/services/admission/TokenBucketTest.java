@@ -0,0 +1,47 @@
+package com.nimbleways.springclean.services.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenAskToWait() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(100 * MILLI);
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtTheSustainedRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(60 * MILLI)).isEqualTo(40 * MILLI);
+        assertThat(bucket.tryAcquire(100 * MILLI)).isZero();
+    }
+
+    @Test
+    void isFull_ShouldBeTrue_OnceEveryPermitIsBack() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.isFull(199 * MILLI)).isFalse();
+        assertThat(bucket.isFull(200 * MILLI)).isTrue();
+    }
+
+    @Test
+    void constructor_ShouldReject_NonPositiveRate() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
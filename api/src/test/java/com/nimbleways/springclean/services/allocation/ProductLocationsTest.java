@@ -0,0 +1,100 @@
+package com.nimbleways.springclean.services.allocation;
+
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductLocationsTest {
+
+    private final StockLocation paris = location(1L, 1, 3);
+    private final StockLocation lyon = location(2L, 2, 1);
+    private final StockLocation lille = location(3L, 3, 2);
+
+    @Test
+    void allocate_ShouldServeFromHighestPriority_ThenMoveOnWhenExhausted() {
+        ProductStock parisStock = stock(10L, paris, 1);
+        ProductStock lyonStock = stock(10L, lyon, 5);
+        ProductLocations locations = ProductLocations.of(
+                List.of(stock(10L, lille, 5), lyonStock, parisStock), AllocationStrategy.PRIORITY.ranking());
+
+        assertThat(locations.allocate(10L)).isSameAs(parisStock);
+        assertThat(locations.allocate(10L)).isSameAs(lyonStock);
+        assertThat(parisStock.getAvailable()).isZero();
+        assertThat(lyonStock.getAvailable()).isEqualTo(4);
+        assertThat(locations.allocated()).containsExactly(parisStock, lyonStock);
+    }
+
+    @Test
+    void allocate_ShouldServeFromShortestLeadTime_WithLeadTimeStrategy() {
+        ProductStock lyonStock = stock(10L, lyon, 5);
+        ProductLocations locations = ProductLocations.of(
+                List.of(stock(10L, paris, 5), stock(10L, lille, 5), lyonStock), AllocationStrategy.LEAD_TIME.ranking());
+
+        assertThat(locations.allocate(10L)).isSameAs(lyonStock);
+    }
+
+    @Test
+    void allocate_ShouldReturnNull_WhenNoLocationHoldsStock() {
+        ProductLocations locations = ProductLocations.of(
+                List.of(stock(10L, paris, 0), stock(11L, lyon, 2)), AllocationStrategy.PRIORITY.ranking());
+
+        assertThat(locations.allocate(10L)).isNull();
+        assertThat(locations.allocate(12L)).isNull();
+        assertThat(locations.allocated()).isEmpty();
+    }
+
+    @Test
+    void peek_ShouldNotReserveStock() {
+        ProductStock parisStock = stock(10L, paris, 1);
+        ProductLocations locations = ProductLocations.of(List.of(parisStock), AllocationStrategy.PRIORITY.ranking());
+
+        assertThat(locations.peek(10L)).isSameAs(parisStock);
+        assertThat(locations.peek(10L)).isSameAs(parisStock);
+        assertThat(parisStock.getAvailable()).isEqualTo(1);
+        assertThat(locations.allocated()).isEmpty();
+    }
+
+    @Test
+    void index_ShouldReplaceThePreviousOrder_AndForgetItsAllocations() {
+        ProductStock parisStock = stock(10L, paris, 3);
+        ProductStock lyonStock = stock(11L, lyon, 2);
+        ProductLocations locations = ProductLocations.of(List.of(parisStock), AllocationStrategy.PRIORITY.ranking());
+        locations.allocate(10L);
+
+        locations.index(List.of(lyonStock));
+
+        assertThat(locations.allocated()).isEmpty();
+        assertThat(locations.peek(10L)).isNull();
+        assertThat(locations.allocate(11L)).isSameAs(lyonStock);
+        assertThat(locations.remaining(11L)).isEqualTo(1);
+        assertThat(locations.allocated()).containsExactly(lyonStock);
+    }
+
+    @Test
+    void index_ShouldKeepEveryProductApart_WhenOrdersOutgrowTheInitialCapacity() {
+        List<ProductStock> stocks = new ArrayList<>();
+        for (long productId = 1; productId <= 100; productId++) {
+            stocks.add(stock(productId, lille, 1));
+            stocks.add(stock(productId, paris, (int) productId));
+        }
+        ProductLocations locations = ProductLocations.of(stocks, AllocationStrategy.PRIORITY.ranking());
+
+        for (long productId = 1; productId <= 100; productId++) {
+            assertThat(locations.peek(productId).getLocation()).isSameAs(paris);
+            assertThat(locations.remaining(productId)).isEqualTo(productId + 1);
+        }
+    }
+
+    private static StockLocation location(Long id, int priority, int leadTime) {
+        return StockLocation.builder().id(id).code("L" + id).priority(priority).leadTime(leadTime).build();
+    }
+
+    private static ProductStock stock(Long productId, StockLocation location, int available) {
+        return ProductStock.builder().productId(productId).location(location).available(available).build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.nimbleways.springclean.services.allocation;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.repositories.StockLocationRepository;
+import com.nimbleways.springclean.utils.Annotations.IntegrationTest;
+import com.nimbleways.springclean.utils.RecordingNotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+public class StockAllocationIntegrationTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RecordingNotificationService notificationService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockLocationRepository stockLocationRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Test
+    public void processOrderShouldServeFromBestLocationThenFallBackToProductPaths() throws Exception {
+        StockLocation paris = stockLocationRepository.save(location(1, 2));
+        StockLocation lyon = stockLocationRepository.save(location(2, 0));
+        Product dongle = productRepository.save(Product.builder()
+                .name("USB Dongle").type(ProductType.NORMAL).available(0).leadTime(10).build());
+        Product milk = productRepository.save(Product.builder()
+                .name("Milk").type(ProductType.EXPIRABLE).available(0).leadTime(15)
+                .expiryDate(LocalDate.now().minusDays(2)).build());
+        List<ProductStock> stocks = productStockRepository.saveAll(List.of(
+                stock(dongle, paris, 1), stock(dongle, lyon, 1), stock(milk, paris, 5)));
+        Long orderId = orderRepository.save(new Order(null, Set.of(dongle, milk))).getId();
+
+        mockMvc.perform(post("/orders/{orderId}/quote", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].outcome").value("ALLOCATE"))
+                .andExpect(jsonPath("$.items[0].leadTime").value(2))
+                .andExpect(jsonPath("$.items[1].outcome").value("EXPIRE"));
+
+        RecordingNotificationService.Capture notifications = notificationService.capture();
+        mockMvc.perform(post("/orders/{orderId}/processOrder", orderId)).andExpect(status().isOk());
+
+        assertThat(productStockRepository.findAllById(stocks.stream().map(ProductStock::getId).toList()))
+                .extracting(ProductStock::getAvailable)
+                .containsExactlyInAnyOrder(0, 1, 5);
+        assertThat(productRepository.findById(dongle.getId()).orElseThrow().getAvailable()).isZero();
+        assertThat(notifications.notifications())
+                .extracting(RecordingNotificationService.SentNotification::productName)
+                .containsExactly("Milk");
+    }
+
+    private static StockLocation location(int priority, int leadTime) {
+        return StockLocation.builder().code(UUID.randomUUID().toString()).priority(priority).leadTime(leadTime).build();
+    }
+
+    private static ProductStock stock(Product product, StockLocation location, int available) {
+        return ProductStock.builder().productId(product.getId()).location(location).available(available).build();
+    }
+}
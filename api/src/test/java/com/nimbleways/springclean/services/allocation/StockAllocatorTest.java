@@ -0,0 +1,104 @@
+package com.nimbleways.springclean.services.allocation;
+
+import com.nimbleways.springclean.config.StockAllocationProperties;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.services.stock.LowStockMonitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockAllocatorTest {
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+
+    @Test
+    void allocate_ShouldServeEligibleProductsFromLocations_AndSaveOnce() {
+        Product cable = product(1L, "USB Cable");
+        Product milk = product(2L, "Milk");
+        Product dongle = product(3L, "USB Dongle");
+        ProductStock cableStock = stock(1L, 4);
+        when(productStockRepository.findByProductIdIn(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(cableStock, stock(2L, 4)));
+
+        List<Product> unallocated = new ArrayList<>();
+        allocator().allocate(List.of(cable, milk, dongle), product -> product != milk, unallocated::add);
+
+        assertThat(unallocated).containsExactly(milk, dongle);
+        assertThat(cableStock.getAvailable()).isEqualTo(3);
+        verify(productStockRepository).saveAllAndFlush(List.of(cableStock));
+    }
+
+    @Test
+    void allocate_ShouldNotSave_WhenNothingWasAllocated() {
+        Product cable = product(1L, "USB Cable");
+
+        List<Product> unallocated = new ArrayList<>();
+        allocator().allocate(List.of(cable), product -> true, unallocated::add);
+
+        assertThat(unallocated).containsExactly(cable);
+        verify(productStockRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void allocate_ShouldCheckLowStock_OnWhatLocationsAndProductHoldTogether() {
+        Product cable = Product.builder().id(1L).name("USB Cable").type(ProductType.NORMAL).available(2).build();
+        when(productStockRepository.findByProductIdIn(List.of(1L))).thenReturn(List.of(stock(1L, 4), stock(1L, 1)));
+
+        allocator().allocate(List.of(cable), product -> true, product -> { });
+
+        verify(lowStockMonitor).checkDecrement(cable, 7, 6);
+    }
+
+    @Test
+    void allocate_ShouldIndexEachOrderAfresh_WhenTheThreadsIndexIsReused() {
+        StockAllocator allocator = allocator();
+        Product cable = product(1L, "USB Cable");
+        Product dongle = product(3L, "USB Dongle");
+        ProductStock cableStock = stock(1L, 4);
+        ProductStock dongleStock = stock(3L, 1);
+        when(productStockRepository.findByProductIdIn(List.of(1L))).thenReturn(List.of(cableStock));
+        when(productStockRepository.findByProductIdIn(List.of(3L))).thenReturn(List.of(dongleStock));
+        List<Product> unallocated = new ArrayList<>();
+
+        allocator.allocate(List.of(cable), product -> true, unallocated::add);
+        allocator.allocate(List.of(dongle), product -> true, unallocated::add);
+        allocator.allocate(List.of(dongle), product -> true, unallocated::add);
+
+        assertThat(cableStock.getAvailable()).isEqualTo(3);
+        assertThat(dongleStock.getAvailable()).isZero();
+        assertThat(unallocated).containsExactly(dongle);
+    }
+
+    private StockAllocator allocator() {
+        return new StockAllocator(productStockRepository, new StockAllocationProperties(AllocationStrategy.PRIORITY),
+                lowStockMonitor);
+    }
+
+    private static Product product(Long id, String name) {
+        return Product.builder().id(id).name(name).type(ProductType.NORMAL).build();
+    }
+
+    private static ProductStock stock(Long productId, int available) {
+        StockLocation location = StockLocation.builder().id(1L).code("PAR").priority(1).leadTime(2).build();
+        return ProductStock.builder().productId(productId).location(location).available(available).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.nimbleways.springclean.services.archiving;
+
+import com.nimbleways.springclean.entities.ArchivedOrder;
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.ProcessedOrder;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.ArchivedOrderRepository;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProcessedOrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.services.implementations.OrderProcessingService;
+import com.nimbleways.springclean.utils.Annotations.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+public class OrderArchivingIntegrationTests {
+
+    private static final Duration AGE = Duration.ofDays(90);
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderProcessingService orderProcessingService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProcessedOrderRepository processedOrderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void processedOrdersOlderThanTheAgeShouldMoveToTheArchive() {
+        List<Product> products = productRepository.saveAll(List.of(
+                new Product(null, 15, 30, ProductType.NORMAL, "Archive Cable", null, null, null, null),
+                new Product(null, 15, 30, ProductType.NORMAL, "Archive Dongle", null, null, null, null)));
+        Order old = orderRepository.save(order(products));
+        Order recent = orderRepository.save(order(products));
+        Order unprocessed = orderRepository.save(order(products));
+        orderProcessingService.processOrder(old.getId());
+        orderProcessingService.processOrder(recent.getId());
+        processedOrderRepository.save(new ProcessedOrder(old.getId(), Instant.now().minus(AGE).minusSeconds(60)));
+
+        int archived = orderArchiver.archiveProcessedBefore(Instant.now().minus(AGE));
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(orderRepository.findById(old.getId())).isEmpty();
+        assertThat(processedOrderRepository.findById(old.getId())).isEmpty();
+        assertThat(orderRepository.findById(recent.getId())).isPresent();
+        assertThat(orderRepository.findById(unprocessed.getId())).isPresent();
+        transactionTemplate.executeWithoutResult(status -> {
+            ArchivedOrder archivedOrder = archivedOrderRepository.findById(old.getId()).orElseThrow();
+            assertThat(archivedOrder.getProductIds())
+                    .containsExactlyInAnyOrder(products.get(0).getId(), products.get(1).getId());
+        });
+        assertThat(productRepository.findById(products.get(0).getId())).isPresent();
+    }
+
+    private static Order order(List<Product> products) {
+        Order order = new Order();
+        order.setItems(new HashSet<>(products));
+        return order;
+    }
+}
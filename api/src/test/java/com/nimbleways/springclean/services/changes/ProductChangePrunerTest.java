@@ -0,0 +1,85 @@
+package com.nimbleways.springclean.services.changes;
+
+import com.nimbleways.springclean.config.ProductChangePruningProperties;
+import com.nimbleways.springclean.entities.ProductChange;
+import com.nimbleways.springclean.repositories.ProductChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangePrunerTest {
+
+    private static final Instant CUTOFF = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    @Mock
+    private ProductChangeRelay productChangeRelay;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductChangePruner pruner;
+
+    @BeforeEach
+    void setUp() {
+        pruner = new ProductChangePruner(productChangeRepository, productChangeRelay,
+                new TransactionTemplate(transactionManager),
+                new ProductChangePruningProperties(true, Duration.ofDays(7), 5, 10));
+    }
+
+    @Test
+    void pruneBefore_ShouldDeleteChunksOldestFirst_UntilAChunkHasNothingOlderThanTheCutoff() {
+        when(productChangeRelay.lowestCursor()).thenReturn(Long.MAX_VALUE);
+        when(productChangeRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(change(1))).thenReturn(Optional.of(change(6))).thenReturn(Optional.of(change(11)));
+        when(productChangeRepository.deleteByIdLessThanEqualAndChangedAtBefore(5, CUTOFF)).thenReturn(5);
+        when(productChangeRepository.deleteByIdLessThanEqualAndChangedAtBefore(10, CUTOFF)).thenReturn(4);
+        when(productChangeRepository.deleteByIdLessThanEqualAndChangedAtBefore(15, CUTOFF)).thenReturn(0);
+
+        assertThat(pruner.pruneBefore(CUTOFF)).isEqualTo(9);
+        verify(productChangeRepository, times(3)).findFirstByOrderByIdAsc();
+    }
+
+    @Test
+    void pruneBefore_ShouldKeepChangesAConnectedStreamHasNotRead() {
+        when(productChangeRelay.lowestCursor()).thenReturn(3L);
+        when(productChangeRepository.findFirstByOrderByIdAsc())
+                .thenReturn(Optional.of(change(1))).thenReturn(Optional.of(change(4)));
+        when(productChangeRepository.deleteByIdLessThanEqualAndChangedAtBefore(3, CUTOFF)).thenReturn(3, 0);
+
+        assertThat(pruner.pruneBefore(CUTOFF)).isEqualTo(3);
+        verify(productChangeRepository, times(2)).deleteByIdLessThanEqualAndChangedAtBefore(3, CUTOFF);
+    }
+
+    @Test
+    void pruneBefore_ShouldDoNothing_WhenTheOutboxIsEmpty() {
+        when(productChangeRelay.lowestCursor()).thenReturn(Long.MAX_VALUE);
+        when(productChangeRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+
+        assertThat(pruner.pruneBefore(CUTOFF)).isZero();
+        verify(productChangeRepository, never()).deleteByIdLessThanEqualAndChangedAtBefore(anyLong(), any());
+    }
+
+    private static ProductChange change(long id) {
+        return new ProductChange(id, 42L, null, 3, 15, CUTOFF.minusSeconds(60));
+    }
+}
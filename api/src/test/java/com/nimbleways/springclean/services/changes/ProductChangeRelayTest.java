@@ -0,0 +1,163 @@
+package com.nimbleways.springclean.services.changes;
+
+import com.nimbleways.springclean.config.ProductChangeRelayProperties;
+import com.nimbleways.springclean.dto.product.ProductChangeResponse;
+import com.nimbleways.springclean.entities.ProductChange;
+import com.nimbleways.springclean.repositories.ProductChangeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeRelayTest {
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new ProductChangeRelay(productChangeRepository,
+                new ProductChangeRelayProperties(2, Duration.ofMinutes(1), Duration.ofSeconds(5)), meterRegistry);
+    }
+
+    @Test
+    void relay_ShouldSendBatchesAndAdvanceCursor() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        relay.subscribe(emitter, 0);
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(change(1, Instant.now()), change(2, Instant.now())));
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(2L), any()))
+                .thenReturn(List.of(change(3, Instant.now())));
+
+        relay.relay();
+
+        assertThat(emitter.batches).hasSize(2);
+        assertThat(emitter.batches.get(0)).extracting(ProductChangeResponse::cursor).containsExactly(1L, 2L);
+        assertThat(emitter.batches.get(1)).extracting(ProductChangeResponse::cursor).containsExactly(3L);
+        relay.relay();
+        verify(productChangeRepository).findByIdGreaterThanOrderByIdAsc(eq(3L), any());
+    }
+
+    @Test
+    void relay_ShouldHoldBackChangesBehindARecentGap() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        relay.subscribe(emitter, 0);
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(change(1, Instant.now()), change(3, Instant.now())));
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any()))
+                .thenReturn(List.of(change(3, Instant.now())));
+
+        relay.relay();
+        relay.relay();
+
+        assertThat(emitter.batches).hasSize(1);
+        assertThat(emitter.batches.get(0)).extracting(ProductChangeResponse::cursor).containsExactly(1L);
+        verify(productChangeRepository).findByIdGreaterThanOrderByIdAsc(eq(1L), any());
+    }
+
+    @Test
+    void relay_ShouldSkipGapOlderThanTimeout_AndCountItOnce() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        relay.subscribe(emitter, 0);
+        relay.subscribe(second, 1);
+        Instant old = Instant.now().minusSeconds(60);
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(change(1, old), change(4, old)));
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(1L), any()))
+                .thenReturn(List.of(change(4, old)));
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(4L), any())).thenReturn(List.of());
+
+        relay.relay();
+
+        assertThat(emitter.batches.get(0)).extracting(ProductChangeResponse::cursor).containsExactly(1L, 4L);
+        assertThat(second.batches.get(0)).extracting(ProductChangeResponse::cursor).containsExactly(4L);
+        assertThat(meterRegistry.get("products.changes.relay.skipped").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void relay_ShouldQueryOncePerCursor() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        relay.subscribe(first, 5);
+        relay.subscribe(second, 5);
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any()))
+                .thenReturn(List.of(change(6, Instant.now())));
+
+        relay.relay();
+
+        verify(productChangeRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(5L), any());
+        assertThat(first.batches).hasSize(1);
+        assertThat(second.batches).isEqualTo(first.batches);
+    }
+
+    @Test
+    void relay_ShouldDropSubscriber_WhenSendFails() {
+        relay.subscribe(new RecordingEmitter(true), 0);
+        when(productChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(change(1, Instant.now())));
+
+        relay.relay();
+
+        assertThat(relay.subscriberCount()).isZero();
+    }
+
+    @Test
+    void subscribe_ShouldStartAtLatestChange_WhenNoCursorIsGiven() {
+        when(productChangeRepository.findFirstByOrderByIdDesc()).thenReturn(Optional.of(change(9, Instant.now())));
+
+        relay.subscribe(null);
+        relay.relay();
+
+        verify(productChangeRepository).findByIdGreaterThanOrderByIdAsc(eq(9L), any());
+    }
+
+    private static ProductChange change(long id, Instant changedAt) {
+        return new ProductChange(id, 42L, null, 3, 15, changedAt);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<List<ProductChangeResponse>> batches = new ArrayList<>();
+        private final boolean failing;
+
+        private RecordingEmitter() {
+            this(false);
+        }
+
+        private RecordingEmitter(boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .filter(data -> data.getData() instanceof List)
+                    .forEach(data -> batches.add((List<ProductChangeResponse>) data.getData()));
+        }
+    }
+}
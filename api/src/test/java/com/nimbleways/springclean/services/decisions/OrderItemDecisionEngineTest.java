@@ -0,0 +1,124 @@
+package com.nimbleways.springclean.services.decisions;
+
+import com.nimbleways.springclean.config.DeliveryCalendarProperties;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.services.delivery.DeliveryDateEstimator;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderItemDecisionEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    private final OrderItemDecisionEngine decisionEngine = new OrderItemDecisionEngine(
+            new DeliveryDateEstimator(new DeliveryCalendarProperties(null, null, 3660)));
+
+    @Test
+    void normalProduct_ShouldDecrement_WhenAvailable() {
+        assertThat(decide(normal(3, 10))).isEqualTo(OrderItemOutcome.DECREMENT);
+    }
+
+    @Test
+    void normalProduct_ShouldDelay_WhenOutOfStockWithLeadTime() {
+        assertThat(decide(normal(0, 10))).isEqualTo(OrderItemOutcome.DELAY);
+    }
+
+    @Test
+    void normalProduct_ShouldBeUnavailable_WhenOutOfStockWithoutLeadTime() {
+        assertThat(decide(normal(0, 0))).isEqualTo(OrderItemOutcome.UNAVAILABLE);
+    }
+
+    @Test
+    void seasonalProduct_ShouldDecrement_WhenInSeasonAndAvailable() {
+        assertThat(decide(seasonal(5, 10, TODAY.minusDays(1), TODAY.plusDays(30)))).isEqualTo(OrderItemOutcome.DECREMENT);
+    }
+
+    @Test
+    void seasonalProduct_ShouldBeOutOfStock_WhenDeliveryExceedsSeason() {
+        assertThat(decide(seasonal(0, 40, TODAY.minusDays(1), TODAY.plusDays(30)))).isEqualTo(OrderItemOutcome.OUT_OF_STOCK);
+    }
+
+    @Test
+    void seasonalProduct_ShouldBeOutOfStock_WhenBusinessDaysPushDeliveryPastSeason() {
+        OrderItemDecisionEngine businessDayEngine = new OrderItemDecisionEngine(new DeliveryDateEstimator(
+                new DeliveryCalendarProperties(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), null, 3660)));
+        Product watermelon = seasonal(0, 25, TODAY.minusDays(1), TODAY.plusDays(30));
+
+        assertThat(decide(watermelon)).isEqualTo(OrderItemOutcome.DELAY);
+        assertThat(businessDayEngine.decide(watermelon, TODAY)).isEqualTo(OrderItemOutcome.OUT_OF_STOCK);
+    }
+
+    @Test
+    void seasonalProduct_ShouldNotStart_WhenSeasonIsAhead() {
+        assertThat(decide(seasonal(5, 10, TODAY.plusDays(10), TODAY.plusDays(60)))).isEqualTo(OrderItemOutcome.SEASON_NOT_STARTED);
+    }
+
+    @Test
+    void seasonalProduct_ShouldDelay_WhenOutOfStockInSeason() {
+        assertThat(decide(seasonal(0, 10, TODAY.minusDays(1), TODAY.plusDays(30)))).isEqualTo(OrderItemOutcome.DELAY);
+    }
+
+    @Test
+    void seasonalProduct_ShouldNotDecrement_OnFirstDayOfSeason() {
+        assertThat(decide(seasonal(5, 10, TODAY, TODAY.plusDays(30)))).isEqualTo(OrderItemOutcome.DELAY);
+    }
+
+    @Test
+    void expirableProduct_ShouldDecrement_WhenAvailableAndNotExpired() {
+        assertThat(decide(expirable(2, TODAY.plusDays(1)))).isEqualTo(OrderItemOutcome.DECREMENT);
+    }
+
+    @Test
+    void expirableProduct_ShouldExpire_WhenExpiryIsToday() {
+        assertThat(decide(expirable(2, TODAY))).isEqualTo(OrderItemOutcome.EXPIRE);
+    }
+
+    @Test
+    void expirableProduct_ShouldExpire_WhenOutOfStock() {
+        assertThat(decide(expirable(0, TODAY.plusDays(10)))).isEqualTo(OrderItemOutcome.EXPIRE);
+    }
+
+    private OrderItemOutcome decide(Product product) {
+        return decisionEngine.decide(product, TODAY);
+    }
+
+    @Test
+    void isSellable_ShouldApplyDateRules_WithoutLookingAtStock() {
+        assertThat(decisionEngine.isSellable(normal(0, 10), TODAY)).isTrue();
+        assertThat(decisionEngine.isSellable(seasonal(0, 10, TODAY.minusDays(1), TODAY.plusDays(30)), TODAY)).isTrue();
+        assertThat(decisionEngine.isSellable(seasonal(5, 10, TODAY.plusDays(1), TODAY.plusDays(30)), TODAY)).isFalse();
+        assertThat(decisionEngine.isSellable(expirable(0, TODAY.plusDays(1)), TODAY)).isTrue();
+        assertThat(decisionEngine.isSellable(expirable(5, TODAY), TODAY)).isFalse();
+    }
+
+    @Test
+    void decideUnserved_ShouldNeverDecrement_EvenWithStock() {
+        assertThat(decisionEngine.decideUnserved(normal(3, 10), TODAY)).isEqualTo(OrderItemOutcome.DELAY);
+        assertThat(decisionEngine.decideUnserved(seasonal(5, 10, TODAY.minusDays(1), TODAY.plusDays(30)), TODAY))
+                .isEqualTo(OrderItemOutcome.DELAY);
+        assertThat(decisionEngine.decideUnserved(seasonal(5, 40, TODAY.minusDays(1), TODAY.plusDays(30)), TODAY))
+                .isEqualTo(OrderItemOutcome.OUT_OF_STOCK);
+        assertThat(decisionEngine.decideUnserved(expirable(3, TODAY.plusDays(10)), TODAY)).isEqualTo(OrderItemOutcome.EXPIRE);
+    }
+
+    private static Product normal(int available, int leadTime) {
+        return Product.builder().type(ProductType.NORMAL).available(available).leadTime(leadTime).build();
+    }
+
+    private static Product seasonal(int available, int leadTime, LocalDate seasonStart, LocalDate seasonEnd) {
+        return Product.builder().type(ProductType.SEASONAL).available(available).leadTime(leadTime)
+                .seasonStartDate(seasonStart).seasonEndDate(seasonEnd).build();
+    }
+
+    private static Product expirable(int available, LocalDate expiryDate) {
+        return Product.builder().type(ProductType.EXPIRABLE).available(available).leadTime(5)
+                .expiryDate(expiryDate).build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.nimbleways.springclean.services.decisions;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.OrderItemOutcome;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.services.implementations.NotificationService;
+import com.nimbleways.springclean.services.stock.LowStockMonitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class OrderItemDecisionExecutorTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private LowStockMonitor lowStockMonitor;
+
+    @InjectMocks
+    private OrderItemDecisionExecutor decisionExecutor;
+
+    @Test
+    void executeAll_ShouldSaveChangedProductsOnceThenNotify() {
+        Product cable = product("Cable", 3);
+        Product milk = product("Milk", 6);
+        Product dongle = product("Dongle", 0);
+
+        OrderItemDecisions decisions = new OrderItemDecisions();
+        decisions.add(cable, OrderItemOutcome.DECREMENT);
+        decisions.add(milk, OrderItemOutcome.EXPIRE);
+        decisions.add(dongle, OrderItemOutcome.DELAY);
+
+        decisionExecutor.executeAll(decisions);
+
+        assertThat(cable.getAvailable()).isEqualTo(2);
+        assertThat(milk.getAvailable()).isZero();
+        assertThat(dongle.getAvailable()).isZero();
+        InOrder inOrder = inOrder(productRepository, notificationService);
+        inOrder.verify(productRepository).saveAllAndFlush(List.of(cable, milk));
+        inOrder.verify(notificationService).sendExpirationNotification("Milk", milk.getExpiryDate());
+        inOrder.verify(notificationService).sendDelayNotification(7, "Dongle");
+    }
+
+    @Test
+    void executeAll_ShouldSaveOnlyTheCurrentBatch_WhenDecisionsAreReused() {
+        Product cable = product("Cable", 3);
+        Product milk = product("Milk", 6);
+        List<List<Product>> saved = new ArrayList<>();
+        doAnswer(invocation -> {
+            saved.add(List.copyOf(invocation.<List<Product>>getArgument(0)));
+            return null;
+        }).when(productRepository).saveAllAndFlush(any());
+        OrderItemDecisions decisions = new OrderItemDecisions();
+        decisions.add(cable, OrderItemOutcome.DECREMENT);
+        decisionExecutor.executeAll(decisions);
+        decisions.clear();
+
+        decisions.add(milk, OrderItemOutcome.EXPIRE);
+        decisionExecutor.executeAll(decisions);
+
+        assertThat(cable.getAvailable()).isEqualTo(2);
+        assertThat(saved).containsExactly(List.of(cable), List.of(milk));
+    }
+
+    @Test
+    void execute_ShouldCheckLowStockAfterSaving_WhenDecremented() {
+        Product cable = product("Cable", 3);
+
+        decisionExecutor.execute(cable, OrderItemOutcome.DECREMENT);
+
+        InOrder inOrder = inOrder(productRepository, lowStockMonitor);
+        inOrder.verify(productRepository).saveAndFlush(cable);
+        inOrder.verify(lowStockMonitor).checkDecrement(cable, 3);
+    }
+
+    @Test
+    void execute_ShouldClearStockAndNotify_WhenOutOfStock() {
+        Product watermelon = product("Watermelon", 4);
+
+        decisionExecutor.execute(watermelon, OrderItemOutcome.OUT_OF_STOCK);
+
+        assertThat(watermelon.getAvailable()).isZero();
+        verify(productRepository).saveAndFlush(watermelon);
+        verify(notificationService).sendOutOfStockNotification("Watermelon");
+    }
+
+    @Test
+    void execute_ShouldKeepStockAndNotify_WhenSeasonNotStarted() {
+        Product grapes = product("Grapes", 4);
+
+        decisionExecutor.execute(grapes, OrderItemOutcome.SEASON_NOT_STARTED);
+
+        assertThat(grapes.getAvailable()).isEqualTo(4);
+        verify(productRepository, never()).saveAndFlush(any());
+        verify(notificationService).sendOutOfStockNotification("Grapes");
+    }
+
+    @Test
+    void execute_ShouldDoNothing_WhenUnavailable() {
+        decisionExecutor.execute(product("Adapter", 0), OrderItemOutcome.UNAVAILABLE);
+
+        verifyNoInteractions(productRepository, notificationService, lowStockMonitor);
+    }
+
+    private static Product product(String name, int available) {
+        return Product.builder().type(ProductType.NORMAL).name(name).available(available).leadTime(7)
+                .expiryDate(LocalDate.of(2024, 1, 1)).build();
+    }
+}
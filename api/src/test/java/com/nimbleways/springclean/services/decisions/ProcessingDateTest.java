@@ -0,0 +1,60 @@
+package com.nimbleways.springclean.services.decisions;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProcessingDateTest {
+
+    private static final ZoneId ZONE = ZoneOffset.ofHours(2);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-06-15T21:59:59Z"));
+    private final ProcessingDate processingDate = new ProcessingDate(clock);
+
+    @Test
+    void today_ShouldReuseTheSameDate_WithinADay() {
+        LocalDate today = processingDate.today();
+        clock.instant = Instant.parse("2024-06-14T22:00:00Z");
+
+        assertThat(today).isEqualTo(LocalDate.of(2024, 6, 15));
+        assertThat(processingDate.today()).isSameAs(today);
+    }
+
+    @Test
+    void today_ShouldMoveToTheNextDay_AtMidnightInTheClockZone() {
+        processingDate.today();
+        clock.instant = Instant.parse("2024-06-15T22:00:00Z");
+
+        assertThat(processingDate.today()).isEqualTo(LocalDate.of(2024, 6, 16));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
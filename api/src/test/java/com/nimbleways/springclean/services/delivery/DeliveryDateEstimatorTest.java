@@ -0,0 +1,86 @@
+package com.nimbleways.springclean.services.delivery;
+
+import com.nimbleways.springclean.config.DeliveryCalendarProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.convert.ApplicationConversionService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeliveryDateEstimatorTest {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2024, 6, 10);
+    private static final LocalDate FRIDAY = LocalDate.of(2024, 6, 14);
+    private static final Set<DayOfWeek> WEEKEND = Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    @Test
+    void estimateDelivery_ShouldCountCalendarDays_WhenNothingIsClosed() {
+        DeliveryDateEstimator estimator = estimator(null, null, 3660);
+
+        assertThat(estimator.estimateDelivery(FRIDAY, 10)).isEqualTo(FRIDAY.plusDays(10));
+    }
+
+    @Test
+    void estimateDelivery_ShouldSkipNonWorkingDays() {
+        DeliveryDateEstimator estimator = estimator(WEEKEND, null, 3660);
+
+        assertThat(estimator.estimateDelivery(FRIDAY, 0)).isEqualTo(FRIDAY);
+        assertThat(estimator.estimateDelivery(FRIDAY, 1)).isEqualTo(LocalDate.of(2024, 6, 17));
+        assertThat(estimator.estimateDelivery(FRIDAY, 5)).isEqualTo(LocalDate.of(2024, 6, 21));
+        assertThat(estimator.estimateDelivery(FRIDAY.plusDays(1), 1)).isEqualTo(LocalDate.of(2024, 6, 17));
+    }
+
+    @Test
+    void estimateDelivery_ShouldSkipHolidays() {
+        DeliveryDateEstimator estimator = estimator(WEEKEND, Set.of(LocalDate.of(2024, 6, 17)), 3660);
+
+        assertThat(estimator.estimateDelivery(FRIDAY, 1)).isEqualTo(LocalDate.of(2024, 6, 18));
+    }
+
+    @Test
+    void estimateDelivery_ShouldMatchDayByDayWalk_InsideAndOutsideTables() {
+        Set<LocalDate> holidays = Set.of(LocalDate.of(2024, 12, 25), LocalDate.of(2025, 1, 1));
+        DeliveryDateEstimator tabled = estimator(WEEKEND, holidays, 3660);
+        DeliveryDateEstimator walking = estimator(WEEKEND, holidays, 0);
+
+        for (LocalDate day = ORIGIN.minusDays(400); day.isBefore(ORIGIN.plusDays(400)); day = day.plusDays(1)) {
+            for (int leadTime = 0; leadTime <= 40; leadTime += 3) {
+                assertThat(tabled.estimateDelivery(day, leadTime)).isEqualTo(walking.estimateDelivery(day, leadTime));
+            }
+        }
+    }
+
+    @Test
+    void constructor_ShouldReject_CalendarWithoutWorkingDay() {
+        assertThatThrownBy(() -> estimator(EnumSet.allOf(DayOfWeek.class), null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void properties_ShouldBindDaysAndIsoHolidays() {
+        MapConfigurationPropertySource source = new MapConfigurationPropertySource(Map.of(
+                "delivery.calendar.non-working-days", "SATURDAY,SUNDAY",
+                "delivery.calendar.holidays", "2024-12-25,2025-01-01"));
+
+        DeliveryCalendarProperties properties = new Binder(List.of(source), null, ApplicationConversionService.getSharedInstance())
+                .bind("delivery.calendar", DeliveryCalendarProperties.class)
+                .get();
+
+        assertThat(properties.nonWorkingDays()).isEqualTo(WEEKEND);
+        assertThat(properties.holidays()).containsExactlyInAnyOrder(LocalDate.of(2024, 12, 25), LocalDate.of(2025, 1, 1));
+        assertThat(properties.horizonDays()).isEqualTo(3660);
+    }
+
+    private static DeliveryDateEstimator estimator(Set<DayOfWeek> nonWorkingDays, Set<LocalDate> holidays, int horizonDays) {
+        return new DeliveryDateEstimator(new DeliveryCalendarProperties(nonWorkingDays, holidays, horizonDays), ORIGIN);
+    }
+}
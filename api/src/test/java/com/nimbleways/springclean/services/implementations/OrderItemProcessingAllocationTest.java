@@ -0,0 +1,101 @@
+package com.nimbleways.springclean.services.implementations;
+
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.nimbleways.springclean.utils.OrderProcessingServiceFixture.orderProcessingService;
+import static com.nimbleways.springclean.utils.Stubs.returning;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the allocation-free order item path: processOrderItems, from stock location allocation to executed outcomes
+ * Persistence and notifications are stubbed out. Only the order itself may allocate, a fixed cost its items share.
+ */
+class OrderItemProcessingAllocationTest {
+
+    private static final int CATALOG_COPIES = 128;
+    private static final int WARMUP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 50;
+    private static final int MEASUREMENTS = 5;
+    private static final int STOCK = 1_000_000;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void processOrderItems_ShouldNotAllocatePerItem_InSteadyState() {
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled());
+        LocalDate today = LocalDate.now();
+        StockLocation warehouse = StockLocation.builder().id(1L).code("PAR").priority(1).leadTime(2).build();
+        List<Product> order = new ArrayList<>();
+        List<ProductStock> stocks = new ArrayList<>();
+        for (int copy = 0; copy < CATALOG_COPIES; copy++) {
+            List<Product> catalog = catalog(today, order.size() + 1L);
+            order.addAll(catalog);
+            stocks.add(ProductStock.builder().productId(catalog.get(catalog.size() - 1).getId())
+                    .location(warehouse).available(STOCK).build());
+        }
+        OrderProcessingService orderProcessingService = orderProcessingService()
+                .productStockRepository(returning(ProductStockRepository.class, "findByProductIdIn", stocks))
+                .productLowStockThresholds(Map.of(1L, 20))
+                .build();
+
+        process(orderProcessingService, order, WARMUP_ORDERS);
+        // a one-off allocation of the JVM or the test runner can land in any window, a per-item one lands in all
+        // and costs at least a byte per item: an object header alone is 12 bytes
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            long before = threadMXBean.getCurrentThreadAllocatedBytes();
+            process(orderProcessingService, order, MEASURED_ORDERS);
+            allocated = Math.min(allocated, threadMXBean.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        int items = MEASURED_ORDERS * order.size();
+        int orders = WARMUP_ORDERS + MEASUREMENTS * MEASURED_ORDERS;
+        assertThat(allocated)
+                .as("bytes allocated by %d orders of %d items", MEASURED_ORDERS, order.size())
+                .isLessThan(items);
+        assertThat(order.get(0).getAvailable()).isEqualTo(STOCK - orders);
+        assertThat(stocks.get(0).getAvailable()).isEqualTo(STOCK - orders);
+    }
+
+    private static void process(OrderProcessingService orderProcessingService, List<Product> order, int orders) {
+        for (int i = 0; i < orders; i++) {
+            orderProcessingService.processOrderItems(order);
+        }
+    }
+
+    /**
+     * One product per outcome, each keeps the same outcome however often it is processed
+     * Stock sits far above the Integer cache so a decrement would box a new value. The last product has no stock of
+     * its own and is served from a stock location.
+     */
+    private static List<Product> catalog(LocalDate today, long firstId) {
+        return List.of(
+                Product.builder().id(firstId).name("USB Cable").type(ProductType.NORMAL).available(STOCK).leadTime(15).build(),
+                Product.builder().id(firstId + 1).name("USB Dongle").type(ProductType.NORMAL).available(0).leadTime(10).build(),
+                Product.builder().id(firstId + 2).name("RJ45 Cable").type(ProductType.NORMAL).available(0).leadTime(0).build(),
+                Product.builder().id(firstId + 3).name("Watermelon").type(ProductType.SEASONAL).available(STOCK).leadTime(15)
+                        .seasonStartDate(today.minusDays(2)).seasonEndDate(today.plusDays(58)).build(),
+                Product.builder().id(firstId + 4).name("Grapes").type(ProductType.SEASONAL).available(30).leadTime(15)
+                        .seasonStartDate(today.plusDays(180)).seasonEndDate(today.plusDays(240)).build(),
+                Product.builder().id(firstId + 5).name("Ski").type(ProductType.SEASONAL).available(0).leadTime(90)
+                        .seasonStartDate(today.minusDays(2)).seasonEndDate(today.plusDays(30)).build(),
+                Product.builder().id(firstId + 6).name("Butter").type(ProductType.EXPIRABLE).available(STOCK).leadTime(15)
+                        .expiryDate(today.plusDays(26)).build(),
+                Product.builder().id(firstId + 7).name("Milk").type(ProductType.EXPIRABLE).available(30).leadTime(15)
+                        .expiryDate(today.minusDays(2)).build(),
+                Product.builder().id(firstId + 8).name("HDMI Cable").type(ProductType.NORMAL).available(0).leadTime(10).build());
+    }
+}
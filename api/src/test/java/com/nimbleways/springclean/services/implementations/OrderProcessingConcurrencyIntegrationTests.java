@@ -0,0 +1,129 @@
+package com.nimbleways.springclean.services.implementations;
+
+import com.nimbleways.springclean.Application;
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProcessedOrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Several application contexts play the role of nodes behind a load balancer:
+ * they share nothing but the database, exactly like separate instances would.
+ */
+class OrderProcessingConcurrencyIntegrationTests {
+
+    private static final int NODE_COUNT = 2;
+    private static final int THREAD_COUNT = 8;
+    private static final int ORDER_COUNT = 40;
+    private static final int INITIAL_STOCK = 100;
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(new SpringApplicationBuilder(Application.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:multi-node;DB_CLOSE_DELAY=-1",
+                            "--orders.processing.retry.max-attempts=50"));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void concurrentProcessOrderOnSeveralNodes_ShouldNotLoseAnyStockUpdate() throws Exception {
+        ProductRepository productRepository = nodes.get(0).getBean(ProductRepository.class);
+        OrderRepository orderRepository = nodes.get(0).getBean(OrderRepository.class);
+        Product product = productRepository.save(Product.builder()
+                .name("Shared Cable").type(ProductType.NORMAL).available(INITIAL_STOCK).leadTime(5).build());
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderIds.add(orderRepository.save(new Order(null, Set.of(product))).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            OrderProcessingService node = nodes.get(i % NODE_COUNT).getBean(OrderProcessingService.class);
+            Long orderId = orderIds.get(i);
+            results.add(executor.submit(() -> {
+                start.await();
+                node.processOrder(orderId);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reloaded.getAvailable()).isEqualTo(INITIAL_STOCK - ORDER_COUNT);
+        assertThat(reloaded.getVersion()).isEqualTo(ORDER_COUNT);
+        assertThat(conflicts()).isPositive();
+    }
+
+    /**
+     * Orders without items write nothing but their processed row, so both nodes race on that insert alone
+     */
+    @Test
+    void sameOrderOnEveryNodeAtOnce_ShouldSucceedEverywhere_AndRecordItOnce() throws Exception {
+        OrderRepository orderRepository = nodes.get(0).getBean(OrderRepository.class);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orderIds.add(orderRepository.save(new Order(null, Set.of())).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(NODE_COUNT);
+        for (Long orderId : orderIds) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (ConfigurableApplicationContext node : nodes) {
+                OrderProcessingService service = node.getBean(OrderProcessingService.class);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    service.processOrder(orderId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        executor.shutdown();
+
+        assertThat(nodes.get(0).getBean(ProcessedOrderRepository.class).findAllById(orderIds)).hasSize(ORDER_COUNT);
+    }
+
+    private static double conflicts() {
+        return nodes.stream()
+                .mapToDouble(node -> node.getBean(MeterRegistry.class).get("orders.processing.conflicts").counter().count())
+                .sum();
+    }
+}
@@ -0,0 +1,237 @@
+package com.nimbleways.springclean.services.implementations;
+
+import com.nimbleways.springclean.entities.Order;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.entities.ProductStock;
+import com.nimbleways.springclean.entities.StockLocation;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProcessedOrderRepository;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionExecutor;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.nimbleways.springclean.utils.OrderProcessingServiceFixture.orderProcessingService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessingServiceTest {
+
+    private static final long ORDER_ID = 42L;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProcessedOrderRepository processedOrderRepository;
+
+    @Mock
+    private OrderItemDecisionExecutor decisionExecutor;
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private OrderProcessingService orderProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderProcessingService = orderProcessingService()
+                .orderRepository(orderRepository)
+                .processedOrderRepository(processedOrderRepository)
+                .decisionExecutor(decisionExecutor)
+                .productStockRepository(productStockRepository)
+                .transactionTemplate(new TransactionTemplate(transactionManager))
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    @Test
+    void processOrder_ShouldRetry_WhenAConcurrentUpdateConflicts() {
+        givenOrder();
+        doThrow(conflict()).doNothing().when(decisionExecutor).executeAll(any());
+
+        orderProcessingService.processOrder(ORDER_ID);
+
+        verify(decisionExecutor, times(2)).executeAll(any());
+        assertThat(count("orders.processing.conflicts")).isEqualTo(1);
+        assertThat(count("orders.processing.retries")).isEqualTo(1);
+        assertThat(count("orders.processing.retries.exhausted")).isZero();
+    }
+
+    @Test
+    void processOrder_ShouldGiveUp_AfterMaxAttempts() {
+        givenOrder();
+        doThrow(conflict()).when(decisionExecutor).executeAll(any());
+
+        assertThatThrownBy(() -> orderProcessingService.processOrder(ORDER_ID))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        verify(decisionExecutor, times(3)).executeAll(any());
+        assertThat(count("orders.processing.conflicts")).isEqualTo(3);
+        assertThat(count("orders.processing.retries")).isEqualTo(2);
+        assertThat(count("orders.processing.retries.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void processOrder_ShouldNotRetry_WhenOrderDoesNotExist() {
+        when(orderRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> orderProcessingService.processOrder(7L))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Order not found: 7");
+
+        assertThat(count("orders.processing.conflicts")).isZero();
+    }
+
+    @Test
+    void processOrder_ShouldApplyOnce_WhenNoConflict() {
+        givenOrder();
+        doNothing().when(decisionExecutor).executeAll(any());
+
+        orderProcessingService.processOrder(ORDER_ID);
+
+        verify(decisionExecutor, times(1)).executeAll(any());
+        verify(processedOrderRepository).saveAndFlush(argThat(processed -> processed.getOrderId() == ORDER_ID));
+        assertThat(count("orders.processing.conflicts")).isZero();
+    }
+
+    @Test
+    void processOrder_ShouldRetryBeforeTouchingStock_WhenAnotherNodeRecordedTheOrderFirst() {
+        givenOrder();
+        when(processedOrderRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key order_id=42"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderProcessingService.processOrder(ORDER_ID);
+
+        verify(processedOrderRepository, times(2)).saveAndFlush(any());
+        verify(decisionExecutor, times(1)).executeAll(any());
+        assertThat(count("orders.processing.conflicts")).isEqualTo(1);
+        assertThat(count("orders.processing.retries")).isEqualTo(1);
+    }
+
+    @Test
+    void processOrder_ShouldServeFromStockLocation_BeforeProductLevelOutcomes() {
+        givenOrder();
+        StockLocation warehouse = StockLocation.builder().id(1L).code("PAR").priority(1).leadTime(2).build();
+        ProductStock stock = ProductStock.builder().productId(1L).location(warehouse).available(2).build();
+        when(productStockRepository.findByProductIdIn(List.of(1L))).thenReturn(List.of(stock));
+        List<Integer> productLevelItems = new ArrayList<>();
+        doAnswer(invocation -> {
+            productLevelItems.add(invocation.<OrderItemDecisions>getArgument(0).size());
+            return null;
+        }).when(decisionExecutor).executeAll(any());
+
+        orderProcessingService.processOrder(ORDER_ID);
+
+        assertThat(stock.getAvailable()).isEqualTo(1);
+        verify(productStockRepository).saveAllAndFlush(List.of(stock));
+        assertThat(productLevelItems).containsExactly(0);
+    }
+
+    @Test
+    void processOrder_ShouldRunOnce_ForConcurrentCallsOnTheSameOrder() throws Exception {
+        int callers = 8;
+        givenOrder();
+        doAnswer(invocation -> {
+            awaitCoalesced(callers - 1);
+            return null;
+        }).doNothing().when(decisionExecutor).executeAll(any());
+
+        for (Future<?> call : callConcurrently(callers)) {
+            call.get(10, TimeUnit.SECONDS);
+        }
+
+        verify(orderRepository, times(1)).findById(ORDER_ID);
+        verify(decisionExecutor, times(1)).executeAll(any());
+        assertThat(count("orders.processing.coalesced")).isEqualTo(callers - 1);
+
+        orderProcessingService.processOrder(ORDER_ID);
+        verify(orderRepository, times(2)).findById(ORDER_ID);
+    }
+
+    @Test
+    void processOrder_ShouldShareFailure_WithCallersThatJoined() throws Exception {
+        givenOrder();
+        IllegalStateException failure = new IllegalStateException("Payment service down");
+        doAnswer(invocation -> {
+            awaitCoalesced(1);
+            throw failure;
+        }).when(decisionExecutor).executeAll(any());
+
+        for (Future<?> call : callConcurrently(2)) {
+            assertThatThrownBy(() -> call.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCause(failure);
+        }
+        verify(decisionExecutor, times(1)).executeAll(any());
+    }
+
+    private List<Future<?>> callConcurrently(int callers) {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<?>> calls = new ArrayList<>(callers);
+            for (int i = 0; i < callers; i++) {
+                calls.add(pool.submit(() -> orderProcessingService.processOrder(ORDER_ID)));
+            }
+            return calls;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void awaitCoalesced(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("orders.processing.coalesced") < callers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void givenOrder() {
+        Product product = Product.builder().id(1L).type(ProductType.NORMAL).available(3).leadTime(5).build();
+        when(orderRepository.findById(ORDER_ID)).thenReturn(Optional.of(new Order(ORDER_ID, Set.of(product))));
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(Product.class, 1L);
+    }
+}
@@ -0,0 +1,117 @@
+package com.nimbleways.springclean.services.search;
+
+import com.nimbleways.springclean.dto.product.ProductSearchResponse;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex productNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findAllNames()).thenReturn(List.of(
+                new ProductSearchResponse(3L, "USB Cable"),
+                new ProductSearchResponse(1L, "USB Cable"),
+                new ProductSearchResponse(2L, "USB Dongle"),
+                new ProductSearchResponse(4L, "RJ45 Cable")));
+        productNameIndex = new ProductNameIndex(null, productRepository);
+        productNameIndex.load();
+    }
+
+    @Test
+    void findFirstIdByName_ShouldReturnLowestId_WhenNameIsShared() {
+        assertThat(productNameIndex.findFirstIdByName("USB Cable")).contains(1L);
+        assertThat(productNameIndex.findFirstIdByName("USB")).isEmpty();
+        assertThat(productNameIndex.findFirstIdByName(null)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldReturnMatchesOrderedByNameThenId_UpToLimit() {
+        assertThat(productNameIndex.search("USB", 10)).containsExactly(
+                new ProductSearchResponse(1L, "USB Cable"),
+                new ProductSearchResponse(3L, "USB Cable"),
+                new ProductSearchResponse(2L, "USB Dongle"));
+        assertThat(productNameIndex.search("USB", 2)).hasSize(2);
+        assertThat(productNameIndex.search("USB", 1_000)).hasSize(3);
+        assertThat(productNameIndex.search("", 10)).hasSize(4);
+        assertThat(productNameIndex.search("usb", 10)).isEmpty();
+        assertThat(productNameIndex.search("USB", -1)).isEmpty();
+    }
+
+    @Test
+    void committedWrites_ShouldInsertRenameAndRemoveProducts() {
+        productNameIndex.onPostInsert(new PostInsertEvent(product(5L, "USB Hub"), 5L, null, null, null));
+        productNameIndex.onPostUpdate(new PostUpdateEvent(product(1L, "USB-C Cable"), 1L, null, null, null, null, null));
+        productNameIndex.onPostDelete(new PostDeleteEvent(product(2L, "USB Dongle"), 2L, null, null, null));
+
+        assertThat(productNameIndex.search("USB", 10)).containsExactly(
+                new ProductSearchResponse(3L, "USB Cable"),
+                new ProductSearchResponse(5L, "USB Hub"),
+                new ProductSearchResponse(1L, "USB-C Cable"));
+        assertThat(productNameIndex.findFirstIdByName("USB Cable")).contains(3L);
+        assertThat(productNameIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    void load_ShouldKeepNamesAlreadyUpdatedByListeners() {
+        productNameIndex.onPostUpdate(new PostUpdateEvent(product(4L, "RJ45 Cable 5m"), 4L, null, null, null, null, null));
+
+        productNameIndex.load();
+
+        assertThat(productNameIndex.search("RJ45", 10))
+                .containsExactly(new ProductSearchResponse(4L, "RJ45 Cable 5m"));
+    }
+
+    @Test
+    void load_ShouldNotBringBackProducts_DeletedWhileRowsAreRead() {
+        when(productRepository.findAllNames()).thenAnswer(invocation -> {
+            List<ProductSearchResponse> rows = List.of(
+                    new ProductSearchResponse(2L, "USB Dongle"),
+                    new ProductSearchResponse(5L, "USB Hub"));
+            productNameIndex.onPostDelete(new PostDeleteEvent(product(2L, "USB Dongle"), 2L, null, null, null));
+            productNameIndex.onPostDelete(new PostDeleteEvent(product(5L, "USB Hub"), 5L, null, null, null));
+            return rows;
+        });
+
+        productNameIndex.load();
+
+        assertThat(productNameIndex.search("USB", 10)).containsExactly(
+                new ProductSearchResponse(1L, "USB Cable"),
+                new ProductSearchResponse(3L, "USB Cable"));
+        assertThat(productNameIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void findFirstIdByName_ShouldQueryTheRepository_UntilLoaded() {
+        ProductNameIndex loading = new ProductNameIndex(null, productRepository);
+        when(productRepository.findFirstByName("USB Cable")).thenReturn(Optional.of(product(1L, "USB Cable")));
+
+        assertThat(loading.isLoaded()).isFalse();
+        assertThat(loading.findFirstIdByName("USB Cable")).contains(1L);
+        assertThat(productNameIndex.isLoaded()).isTrue();
+    }
+
+    private static Product product(Long id, String name) {
+        return Product.builder().id(id).name(name).build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.nimbleways.springclean.services.stock;
+
+import com.nimbleways.springclean.config.LowStockThresholdProperties;
+import com.nimbleways.springclean.entities.Product;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.services.implementations.LowStockNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class LowStockMonitorTest {
+
+    private static final long CABLE_ID = 42L;
+
+    @Mock
+    private LowStockNotificationService lowStockNotificationService;
+
+    private LowStockMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new LowStockMonitor(lowStockNotificationService, new LowStockThresholdProperties(
+                2, Map.of(ProductType.SEASONAL, 10), Map.of(CABLE_ID, 5)));
+    }
+
+    @Test
+    void checkDecrement_ShouldNotify_WhenCrossingDownward() {
+        Product cable = product("USB Cable", ProductType.NORMAL, 5);
+
+        assertThat(monitor.checkDecrement(cable, 6)).isTrue();
+
+        verify(lowStockNotificationService).sendLowStockNotification("USB Cable", 5, 5);
+    }
+
+    @Test
+    void checkDecrement_ShouldNotifyOnce_WhenAlreadyBelowThreshold() {
+        Product cable = product("USB Cable", ProductType.NORMAL, 4);
+
+        assertThat(monitor.checkDecrement(cable, 5)).isFalse();
+        assertThat(monitor.checkDecrement(product("USB Cable", ProductType.NORMAL, 6), 7)).isFalse();
+
+        verifyNoInteractions(lowStockNotificationService);
+    }
+
+    @Test
+    void thresholdFor_ShouldPreferProductThenTypeThenDefault() {
+        assertThat(monitor.thresholdFor(product("USB Cable", ProductType.SEASONAL, 1))).isEqualTo(5);
+        assertThat(monitor.thresholdFor(product("Watermelon", ProductType.SEASONAL, 1))).isEqualTo(10);
+        assertThat(monitor.thresholdFor(product("Butter", ProductType.EXPIRABLE, 1))).isEqualTo(2);
+    }
+
+    @Test
+    void thresholdFor_ShouldMatchTheProductId_NotItsName() {
+        Product namesake = Product.builder().id(CABLE_ID + 1).name("USB Cable").type(ProductType.NORMAL).available(1).build();
+        Product unsaved = Product.builder().name("USB Cable").type(ProductType.NORMAL).available(1).build();
+
+        assertThat(monitor.thresholdFor(namesake)).isEqualTo(2);
+        assertThat(monitor.thresholdFor(unsaved)).isEqualTo(2);
+    }
+
+    @Test
+    void checkDecrement_ShouldHoldTheAlert_UntilTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(monitor.checkDecrement(product("USB Cable", ProductType.NORMAL, 5), 6)).isTrue();
+            verifyNoInteractions(lowStockNotificationService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(lowStockNotificationService).sendLowStockNotification("USB Cable", 5, 5);
+    }
+
+    @Test
+    void checkDecrement_ShouldDropTheAlert_WhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            monitor.checkDecrement(product("USB Cable", ProductType.NORMAL, 5), 6);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(lowStockNotificationService);
+    }
+
+    @Test
+    void checkDecrement_ShouldDoNothing_WhenNoThresholdIsConfigured() {
+        LowStockMonitor unconfigured = new LowStockMonitor(lowStockNotificationService,
+                new LowStockThresholdProperties(null, null, null));
+
+        assertThat(unconfigured.checkDecrement(product("USB Cable", ProductType.NORMAL, 0), 1)).isFalse();
+
+        verifyNoInteractions(lowStockNotificationService);
+    }
+
+    private static Product product(String name, ProductType type, int available) {
+        Long id = "USB Cable".equals(name) ? CABLE_ID : null;
+        return Product.builder().id(id).name(name).type(type).available(available).build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.nimbleways.springclean.utils.Annotations;
+
+import com.nimbleways.springclean.utils.RecordingNotificationService;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Integration test sharing one cached application context
+ * Do not add @MockBean or per-class properties: each variation creates and boots another context.
+ * Assert notifications through {@link RecordingNotificationService} instead.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(RecordingNotificationService.Configuration.class)
+public @interface IntegrationTest {
+}
@@ -0,0 +1,70 @@
+package com.nimbleways.springclean.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.List;
+
+/**
+ * Events captured by {@link StaticLogbackAppender} since a test started
+ * Scoped to the thread that created it by default, narrowed with logger and level filters.
+ */
+public final class LogCapture {
+	private final long startSequence;
+	private final String threadName;
+	private final String loggerPrefix;
+	private final Level minimumLevel;
+
+	LogCapture(long startSequence, String threadName, String loggerPrefix, Level minimumLevel) {
+		this.startSequence = startSequence;
+		this.threadName = threadName;
+		this.loggerPrefix = loggerPrefix;
+		this.minimumLevel = minimumLevel;
+	}
+
+	/**
+	 * Also keep events logged by other threads, e.g. the server threads of a RANDOM_PORT test
+	 */
+	public LogCapture fromAllThreads() {
+		return new LogCapture(startSequence, null, loggerPrefix, minimumLevel);
+	}
+
+	/**
+	 * Keep only events of the given logger and its children
+	 */
+	public LogCapture forLogger(String loggerName) {
+		return new LogCapture(startSequence, threadName, loggerName, minimumLevel);
+	}
+
+	public LogCapture forLogger(Class<?> loggerClass) {
+		return forLogger(loggerClass.getName());
+	}
+
+	/**
+	 * Keep only events at the given level or above
+	 */
+	public LogCapture atLeast(Level level) {
+		return new LogCapture(startSequence, threadName, loggerPrefix, level);
+	}
+
+	public List<ILoggingEvent> events() {
+		return StaticLogbackAppender.eventsSince(startSequence).stream()
+				.filter(this::matches)
+				.toList();
+	}
+
+	public List<String> messages() {
+		return events().stream().map(ILoggingEvent::getFormattedMessage).toList();
+	}
+
+	private boolean matches(ILoggingEvent event) {
+		return (threadName == null || threadName.equals(event.getThreadName()))
+				&& (loggerPrefix == null || isSameOrChildLogger(event.getLoggerName()))
+				&& (minimumLevel == null || event.getLevel().isGreaterOrEqual(minimumLevel));
+	}
+
+	private boolean isSameOrChildLogger(String loggerName) {
+		return loggerName.equals(loggerPrefix)
+				|| loggerName.startsWith(loggerPrefix) && loggerName.charAt(loggerPrefix.length()) == '.';
+	}
+}
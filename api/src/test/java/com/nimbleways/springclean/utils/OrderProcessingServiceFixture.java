@@ -0,0 +1,115 @@
+package com.nimbleways.springclean.utils;
+
+import com.nimbleways.springclean.config.DeliveryCalendarProperties;
+import com.nimbleways.springclean.config.LowStockThresholdProperties;
+import com.nimbleways.springclean.config.OrderProcessingRetryProperties;
+import com.nimbleways.springclean.config.StockAllocationProperties;
+import com.nimbleways.springclean.enums.ProductType;
+import com.nimbleways.springclean.repositories.OrderRepository;
+import com.nimbleways.springclean.repositories.ProcessedOrderRepository;
+import com.nimbleways.springclean.repositories.ProductRepository;
+import com.nimbleways.springclean.repositories.ProductStockRepository;
+import com.nimbleways.springclean.services.allocation.AllocationStrategy;
+import com.nimbleways.springclean.services.allocation.StockAllocator;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionEngine;
+import com.nimbleways.springclean.services.decisions.OrderItemDecisionExecutor;
+import com.nimbleways.springclean.services.decisions.ProcessingDate;
+import com.nimbleways.springclean.services.delivery.DeliveryDateEstimator;
+import com.nimbleways.springclean.services.implementations.LowStockNotificationService;
+import com.nimbleways.springclean.services.implementations.NotificationService;
+import com.nimbleways.springclean.services.implementations.OrderProcessingMetrics;
+import com.nimbleways.springclean.services.implementations.OrderProcessingService;
+import com.nimbleways.springclean.services.stock.LowStockMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.nimbleways.springclean.utils.Stubs.noOp;
+
+/**
+ * OrderProcessingService wired by hand, for unit tests and benchmarks that run without a Spring context
+ * Every collaborator not set on the builder is a no-op stub, configuration is the same for all of them.
+ */
+public final class OrderProcessingServiceFixture {
+
+    private OrderRepository orderRepository;
+    private ProcessedOrderRepository processedOrderRepository;
+    private ProductStockRepository productStockRepository;
+    private OrderItemDecisionExecutor decisionExecutor;
+    private TransactionTemplate transactionTemplate = new TransactionTemplate();
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Map<Long, Integer> productLowStockThresholds = Map.of();
+
+    private OrderProcessingServiceFixture() {
+    }
+
+    public static OrderProcessingServiceFixture orderProcessingService() {
+        return new OrderProcessingServiceFixture();
+    }
+
+    public OrderProcessingServiceFixture orderRepository(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        return this;
+    }
+
+    public OrderProcessingServiceFixture processedOrderRepository(ProcessedOrderRepository processedOrderRepository) {
+        this.processedOrderRepository = processedOrderRepository;
+        return this;
+    }
+
+    public OrderProcessingServiceFixture productStockRepository(ProductStockRepository productStockRepository) {
+        this.productStockRepository = productStockRepository;
+        return this;
+    }
+
+    /**
+     * Replaces the executor built on a stubbed ProductRepository
+     */
+    public OrderProcessingServiceFixture decisionExecutor(OrderItemDecisionExecutor decisionExecutor) {
+        this.decisionExecutor = decisionExecutor;
+        return this;
+    }
+
+    public OrderProcessingServiceFixture transactionTemplate(TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+        return this;
+    }
+
+    public OrderProcessingServiceFixture meterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        return this;
+    }
+
+    public OrderProcessingServiceFixture productLowStockThresholds(Map<Long, Integer> productLowStockThresholds) {
+        this.productLowStockThresholds = productLowStockThresholds;
+        return this;
+    }
+
+    public OrderProcessingService build() {
+        LowStockMonitor lowStockMonitor = new LowStockMonitor(new LowStockNotificationService(),
+                new LowStockThresholdProperties(5, Map.of(ProductType.SEASONAL, 10), productLowStockThresholds));
+        return new OrderProcessingService(
+                orDefault(orderRepository, OrderRepository.class),
+                orDefault(processedOrderRepository, ProcessedOrderRepository.class),
+                new OrderItemDecisionEngine(
+                        new DeliveryDateEstimator(new DeliveryCalendarProperties(null, null, 3660))),
+                decisionExecutor != null ? decisionExecutor : stubbedDecisionExecutor(lowStockMonitor),
+                new StockAllocator(orDefault(productStockRepository, ProductStockRepository.class),
+                        new StockAllocationProperties(AllocationStrategy.PRIORITY), lowStockMonitor),
+                new ProcessingDate(),
+                transactionTemplate,
+                new OrderProcessingRetryProperties(3, Duration.ofMillis(1), Duration.ofMillis(2)),
+                new OrderProcessingMetrics(meterRegistry));
+    }
+
+    private static OrderItemDecisionExecutor stubbedDecisionExecutor(LowStockMonitor lowStockMonitor) {
+        return new OrderItemDecisionExecutor(noOp(ProductRepository.class), new NotificationService(), lowStockMonitor);
+    }
+
+    private static <T> T orDefault(T collaborator, Class<T> type) {
+        return collaborator != null ? collaborator : noOp(type);
+    }
+}
@@ -0,0 +1,125 @@
+package com.nimbleways.springclean.utils;
+
+import com.nimbleways.springclean.services.implementations.NotificationService;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notification stub shared by every integration test of the cached context
+ * Tests running in parallel read only their own notifications through {@link #capture()}.
+ * Only the last {@link #CAPACITY} notifications are kept, like {@link StaticLogbackAppender} does for logs.
+ */
+public class RecordingNotificationService extends NotificationService {
+	static final int CAPACITY = 4096;
+
+	private final ConcurrentLinkedQueue<SentNotification> sent = new ConcurrentLinkedQueue<>();
+	private final AtomicLong nextSequence = new AtomicLong();
+	private final Map<String, CountDownLatch> holds = new ConcurrentHashMap<>();
+
+	@Override
+	public void sendDelayNotification(int leadTime, String productName) {
+		record(Type.DELAY, productName, leadTime, null);
+	}
+
+	@Override
+	public void sendOutOfStockNotification(String productName) {
+		record(Type.OUT_OF_STOCK, productName, null, null);
+	}
+
+	@Override
+	public void sendExpirationNotification(String productName, LocalDate expiryDate) {
+		record(Type.EXPIRATION, productName, null, expiryDate);
+	}
+
+	/**
+	 * Start capturing the notifications sent from now on by the current thread
+	 * MockMvc requests run on the test thread, so this scopes notifications to one test.
+	 */
+	public Capture capture() {
+		return new Capture(nextSequence.get(), Thread.currentThread().getName());
+	}
+
+	/**
+	 * Block the threads sending a notification for the product until the latch is released
+	 * Notifications are sent inside the processing transaction, so this holds an execution in flight.
+	 * Use a product name of the test's own, and {@link #unhold} it when done.
+	 */
+	public void hold(String productName, CountDownLatch release) {
+		holds.put(productName, release);
+	}
+
+	public void unhold(String productName) {
+		holds.remove(productName);
+	}
+
+	private void record(Type type, String productName, Integer leadTime, LocalDate expiryDate) {
+		CountDownLatch hold = holds.get(productName);
+		if (hold != null) {
+			await(hold);
+		}
+		long sequence = nextSequence.getAndIncrement();
+		sent.add(new SentNotification(sequence, Thread.currentThread().getName(),
+				type, productName, leadTime, expiryDate));
+		// every notification past the capacity drops the oldest one
+		if (sequence >= CAPACITY) {
+			sent.poll();
+		}
+	}
+
+	private static void await(CountDownLatch hold) {
+		try {
+			if (!hold.await(30, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("Notification hold was never released");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public enum Type {
+		DELAY,
+		OUT_OF_STOCK,
+		EXPIRATION
+	}
+
+	public record SentNotification(long sequence, String threadName, Type type, String productName,
+			Integer leadTime, LocalDate expiryDate) {
+	}
+
+	public final class Capture {
+		private final long startSequence;
+		private final String threadName;
+
+		private Capture(long startSequence, String threadName) {
+			this.startSequence = startSequence;
+			this.threadName = threadName;
+		}
+
+		public List<SentNotification> notifications() {
+			return sent.stream()
+					.filter(notification -> notification.sequence() >= startSequence
+							&& notification.threadName().equals(threadName))
+					.toList();
+		}
+	}
+
+	@TestConfiguration(proxyBeanMethods = false)
+	public static class Configuration {
+		@Bean
+		@Primary
+		public RecordingNotificationService recordingNotificationService() {
+			return new RecordingNotificationService();
+		}
+	}
+}
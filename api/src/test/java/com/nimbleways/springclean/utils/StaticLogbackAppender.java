@@ -1,25 +1,65 @@
 package com.nimbleways.springclean.utils;
 
-import ch.qos.logback.classic.spi.LoggingEvent;
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-public class StaticLogbackAppender extends AppenderBase<LoggingEvent> {
-	static List<LoggingEvent> events = new ArrayList<>();
+/**
+ * Captures logging events in a bounded, lock-free ring buffer
+ * Appending never blocks, only the last {@link #CAPACITY} events are kept.
+ * Tests read their own events through {@link #capture()}, which is safe with parallel execution.
+ */
+public class StaticLogbackAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+	static final int CAPACITY = 4096;
+	private static final int MASK = CAPACITY - 1;
+
+	private static final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(CAPACITY);
+	private static final AtomicLong nextSequence = new AtomicLong();
+	private static volatile long clearedSequence;
 
 	@Override
-	public void append(LoggingEvent e) {
-		events.add(e);
+	protected void append(ILoggingEvent e) {
+		long sequence = nextSequence.getAndIncrement();
+		slots.set((int) (sequence & MASK), new Slot(sequence, e));
 	}
 
-	public static List<LoggingEvent> getEvents() {
-		return events;
+	/**
+	 * Start capturing the events logged from now on by the current thread
+	 * @return Capture to read and filter the events
+	 */
+	public static LogCapture capture() {
+		return new LogCapture(nextSequence.get(), Thread.currentThread().getName(), null, null);
+	}
+
+	public static List<ILoggingEvent> getEvents() {
+		return eventsSince(clearedSequence);
 	}
 
 	public static void clearEvents() {
-		events.clear();
+		clearedSequence = nextSequence.get();
 	}
 
+	/**
+	 * Events still in the buffer with a sequence greater or equal to the given one, oldest first
+	 * Slots overwritten by a concurrent append are skipped.
+	 */
+	static List<ILoggingEvent> eventsSince(long fromSequence) {
+		long end = nextSequence.get();
+		long start = Math.max(fromSequence, end - CAPACITY);
+		List<ILoggingEvent> events = new ArrayList<>((int) (end - start));
+		for (long sequence = start; sequence < end; sequence++) {
+			Slot slot = slots.get((int) (sequence & MASK));
+			if (slot != null && slot.sequence() == sequence) {
+				events.add(slot.event());
+			}
+		}
+		return events;
+	}
+
+	private record Slot(long sequence, ILoggingEvent event) {
+	}
 }
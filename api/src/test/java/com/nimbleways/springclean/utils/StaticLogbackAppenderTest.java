@@ -0,0 +1,109 @@
+package com.nimbleways.springclean.utils;
+
+import ch.qos.logback.classic.Level;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Only loggers of this class are reconfigured, no other test sees the change
+ * Isolated: the buffer is shared by the whole JVM, the flood test asserts which events it keeps.
+ */
+@Isolated
+class StaticLogbackAppenderTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(StaticLogbackAppenderTest.class);
+	private static final Logger otherLogger = LoggerFactory.getLogger("StaticLogbackAppenderTest.other");
+	private static final Logger floodLogger = LoggerFactory.getLogger("StaticLogbackAppenderTest.flood");
+
+	@BeforeAll
+	static void setUpLoggers() {
+		ch.qos.logback.classic.Logger root = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+		((ch.qos.logback.classic.Logger) logger).setLevel(Level.INFO);
+		((ch.qos.logback.classic.Logger) otherLogger).setLevel(Level.INFO);
+		// flood only into the capture buffer, not the console
+		ch.qos.logback.classic.Logger flood = (ch.qos.logback.classic.Logger) floodLogger;
+		flood.setLevel(Level.INFO);
+		flood.setAdditive(false);
+		flood.addAppender(root.getAppender("static-appender"));
+	}
+
+	@Test
+	void capture_ShouldOnlySeeEventsLoggedAfterItStarted() {
+		logger.info("before capture");
+		LogCapture capture = StaticLogbackAppender.capture();
+
+		logger.info("after capture");
+
+		assertThat(capture.messages()).containsExactly("after capture");
+	}
+
+	@Test
+	void capture_ShouldFilterByLoggerAndLevel() {
+		LogCapture capture = StaticLogbackAppender.capture();
+
+		logger.info("info from test");
+		logger.warn("warn from test");
+		otherLogger.warn("warn from other");
+
+		assertThat(capture.forLogger(StaticLogbackAppenderTest.class).messages())
+				.containsExactly("info from test", "warn from test");
+		assertThat(capture.atLeast(Level.WARN).messages())
+				.containsExactly("warn from test", "warn from other");
+		assertThat(capture.forLogger("StaticLogbackAppenderTest.other").atLeast(Level.WARN).messages())
+				.containsExactly("warn from other");
+	}
+
+	@Test
+	void capture_ShouldIgnoreOtherThreads_UnlessAsked() throws Exception {
+		LogCapture capture = StaticLogbackAppender.capture();
+		Thread thread = new Thread(() -> logger.info("from another thread"));
+		thread.start();
+		thread.join();
+
+		assertThat(capture.messages()).doesNotContain("from another thread");
+		assertThat(capture.fromAllThreads().messages()).contains("from another thread");
+	}
+
+	@Test
+	void buffer_ShouldKeepExactlyTheLastEvents_WhenManyThreadsLog() throws Exception {
+		int threads = 4;
+		int eventsPerThread = StaticLogbackAppender.CAPACITY;
+		LogCapture capture = StaticLogbackAppender.capture().fromAllThreads().forLogger(floodLogger.getName());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < eventsPerThread; i++) {
+					floodLogger.info("flood {}", i);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+		assertThat(capture.events()).hasSizeLessThanOrEqualTo(StaticLogbackAppender.CAPACITY);
+
+		// once the writers are done, a full buffer of sequential events replaces every slot
+		for (int i = 0; i < StaticLogbackAppender.CAPACITY; i++) {
+			floodLogger.info("last {}", i);
+		}
+
+		assertThat(capture.messages()).containsExactlyElementsOf(IntStream.range(0, StaticLogbackAppender.CAPACITY)
+				.mapToObj(i -> "last " + i)
+				.toList());
+		assertThat(StaticLogbackAppender.getEvents()).hasSizeLessThanOrEqualTo(StaticLogbackAppender.CAPACITY);
+	}
+}
@@ -0,0 +1,50 @@
+package com.nimbleways.springclean.utils;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.FixedValue;
+import net.bytebuddy.implementation.StubMethod;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Interface implementations doing nothing, every method returns null, zero or false
+ * Unlike Mockito mocks they do not record invocations, so calls to them allocate nothing:
+ * meant for allocation tests and benchmarks, not for verifying interactions.
+ */
+public final class Stubs {
+
+	private Stubs() {
+	}
+
+	public static <T> T noOp(Class<T> type) {
+		return stub(new ByteBuddy()
+				.subclass(type)
+				.method(ElementMatchers.any())
+				.intercept(StubMethod.INSTANCE), type);
+	}
+
+	/**
+	 * Same as {@link #noOp} except that every method of the given name returns the given value
+	 */
+	public static <T> T returning(Class<T> type, String methodName, Object value) {
+		return stub(new ByteBuddy()
+				.subclass(type)
+				.method(ElementMatchers.any())
+				.intercept(StubMethod.INSTANCE)
+				.method(ElementMatchers.named(methodName))
+				.intercept(FixedValue.reference(value)), type);
+	}
+
+	private static <T> T stub(DynamicType.Builder<T> builder, Class<T> type) {
+		try {
+			return builder
+					.make()
+					.load(type.getClassLoader())
+					.getLoaded()
+					.getDeclaredConstructor()
+					.newInstance();
+		} catch (ReflectiveOperationException exception) {
+			throw new IllegalStateException("Cannot stub " + type.getName(), exception);
+		}
+	}
+}